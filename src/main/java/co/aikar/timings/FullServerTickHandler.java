@@ -45,6 +45,7 @@ public class FullServerTickHandler extends TimingHandler {
 
     @Override
     public TimingHandler startTiming() {
+        TimingsManager.serverThread = Thread.currentThread();
         if (TimingsManager.needsFullReset) {
             TimingsManager.resetTimings();
         } else if (TimingsManager.needsRecheckEnabled) {
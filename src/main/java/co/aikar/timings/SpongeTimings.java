@@ -50,6 +50,7 @@ public final class SpongeTimings {
 
     public static final Timing entityActivationCheckTimer = SpongeTimingsFactory.ofSafe("entityActivationCheck");
     public static final Timing checkIfActiveTimer = SpongeTimingsFactory.ofSafe("checkIfActive");
+    public static final Timing inactiveTickEntityTimer = SpongeTimingsFactory.ofSafe("## inactiveTickEntity");
 
     public static final Timing antiXrayUpdateTimer = SpongeTimingsFactory.ofSafe("anti-xray - update");
     public static final Timing antiXrayObfuscateTimer = SpongeTimingsFactory.ofSafe("anti-xray - obfuscate");
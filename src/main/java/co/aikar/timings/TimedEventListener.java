@@ -24,7 +24,6 @@
  */
 package co.aikar.timings;
 
-import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -59,7 +58,7 @@ public TimedEventListener(EventListener<T> listener, PluginContainer plugin, Met
 
     @Override
     public void handle(T event) throws Exception {
-        if (!Timings.isTimingsEnabled() || !MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (!Timings.isTimingsEnabled() || !TimingsManager.isServerThread()) {
             this.listener.handle(event);
             return;
         }
@@ -27,21 +27,12 @@
 import co.aikar.util.JSONUtil;
 import com.google.gson.JsonArray;
 
-import java.util.function.Function;
-
 /**
  * Lightweight object for tracking timing data <p/> This is broken out to reduce
  * memory usage
  */
 class TimingData {
 
-    static Function<Integer, TimingData> LOADER = new Function<Integer, TimingData>() {
-
-        @Override
-        public TimingData apply(Integer input) {
-            return new TimingData(input);
-        }
-    };
     private int id;
     int count = 0;
     private int lagCount = 0;
@@ -49,7 +40,7 @@ public TimingData apply(Integer input) {
     private long lagTotalTime = 0;
 
     int curTickCount = 0;
-    int curTickTotal = 0;
+    long curTickTotal = 0;
 
     TimingData(int id) {
         this.id = id;
@@ -24,20 +24,28 @@
  */
 package co.aikar.timings;
 
-import co.aikar.util.LoadingIntMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
-import net.minecraft.server.MinecraftServer;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.Arrays;
+
 class TimingHandler implements Timing {
 
+    private static final TimingData[] NO_CHILDREN = new TimingData[0];
+    private static final int[] NO_SLOTS = new int[0];
+
     private static int idPool = 1;
     final int id = idPool++;
 
     final String name;
     private final boolean verbose;
 
-    final TIntObjectHashMap<TimingData> children = new LoadingIntMap<>(TimingData.LOADER);
+    // The timings of the handlers run while this one was the current, packed
+    // for iteration, and an open addressed index from the id of the child
+    // handler to its position in the packed arrays plus one.
+    TimingData[] children = NO_CHILDREN;
+    private int[] childIds = NO_SLOTS;
+    private int[] childSlots = NO_SLOTS;
+    int childCount;
 
     final TimingData record;
     private final TimingHandler groupHandler;
@@ -45,6 +53,7 @@ class TimingHandler implements Timing {
     private long start = 0;
     private int timingDepth = 0;
     private boolean added;
+    private boolean queuedForTick;
     boolean timed;
     boolean enabled;
     private TimingHandler parent;
@@ -70,6 +79,7 @@ final void checkEnabled() {
     }
 
     void processTick(boolean violated) {
+        this.queuedForTick = false;
         if (this.timingDepth != 0 || this.record.curTickCount == 0) {
             this.timingDepth = 0;
             this.start = 0;
@@ -77,21 +87,71 @@ void processTick(boolean violated) {
         }
 
         this.record.processTick(violated);
-        for (TimingData handler : this.children.valueCollection()) {
-            handler.processTick(violated);
+        for (int i = 0; i < this.childCount; i++) {
+            this.children[i].processTick(violated);
         }
     }
 
+    /**
+     * Gets the timing data of the child handler with the given id, creating it
+     * if the child was not run under this handler before.
+     *
+     * @param id The id of the child handler
+     * @return The timing data of the child
+     */
+    TimingData getChild(int id) {
+        final int mask = this.childSlots.length - 1;
+        if (mask > 0) {
+            for (int i = slotOf(id, mask); this.childSlots[i] != 0; i = (i + 1) & mask) {
+                final int index = this.childSlots[i] - 1;
+                if (this.childIds[index] == id) {
+                    return this.children[index];
+                }
+            }
+        }
+        TimingData child = new TimingData(id);
+        if (this.childCount == this.children.length) {
+            this.children = Arrays.copyOf(this.children, Math.max(4, this.childCount * 2));
+            this.childIds = Arrays.copyOf(this.childIds, this.children.length);
+        }
+        this.children[this.childCount] = child;
+        this.childIds[this.childCount] = id;
+        this.childCount++;
+        if (this.childCount * 4 > this.childSlots.length * 3) {
+            this.childSlots = new int[Math.max(8, this.childSlots.length * 2)];
+            for (int index = 0; index < this.childCount; index++) {
+                insertSlot(index);
+            }
+        } else {
+            insertSlot(this.childCount - 1);
+        }
+        return child;
+    }
+
+    private void insertSlot(int index) {
+        final int mask = this.childSlots.length - 1;
+        int i = slotOf(this.childIds[index], mask);
+        while (this.childSlots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        this.childSlots[i] = index + 1;
+    }
+
+    private static int slotOf(int id, int mask) {
+        final int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
     @Override
     public void startTimingIfSync() {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (TimingsManager.isServerThread()) {
             startTiming();
         }
     }
 
     @Override
     public void stopTimingIfSync() {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (TimingsManager.isServerThread()) {
             stopTiming();
         }
     }
@@ -102,6 +162,9 @@ public TimingHandler startTiming() {
             this.start = System.nanoTime();
             this.parent = TimingsManager.CURRENT;
             TimingsManager.CURRENT = this;
+            // Queued when started rather than when stopped, so the depth of
+            // a handler that is never stopped is still reset by the tick
+            queueForTick();
         }
         return this;
     }
@@ -109,7 +172,7 @@ public TimingHandler startTiming() {
     @Override
     public void stopTiming() {
         if (this.enabled && --this.timingDepth == 0 && this.start != 0) {
-            if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            if (!TimingsManager.isServerThread()) {
                 SpongeImpl.getLogger().fatal("stopTiming called async for " + this.name);
                 new Throwable().printStackTrace();
                 this.start = 0;
@@ -131,10 +194,11 @@ void addDiff(long diff) {
         if (TimingsManager.CURRENT == this) {
             TimingsManager.CURRENT = this.parent;
             if (this.parent != null) {
-                this.parent.children.get(this.id).add(diff);
+                this.parent.getChild(this.id).add(diff);
             }
         }
         this.record.add(diff);
+        queueForTick();
         if (!this.added) {
             this.added = true;
             this.timed = true;
@@ -142,7 +206,14 @@ void addDiff(long diff) {
         }
         if (this.groupHandler != null) {
             this.groupHandler.addDiff(diff);
-            this.groupHandler.children.get(this.id).add(diff);
+            this.groupHandler.getChild(this.id).add(diff);
+        }
+    }
+
+    private void queueForTick() {
+        if (!this.queuedForTick) {
+            this.queuedForTick = true;
+            TimingsManager.TICK_HANDLERS.add(this);
         }
     }
 
@@ -159,7 +230,10 @@ void reset(boolean full) {
         this.start = 0;
         this.timingDepth = 0;
         this.added = false;
-        this.children.clear();
+        this.queuedForTick = false;
+        Arrays.fill(this.childSlots, 0);
+        Arrays.fill(this.children, 0, this.childCount, null);
+        this.childCount = 0;
         checkEnabled();
     }
 
@@ -26,6 +26,7 @@
 
 import co.aikar.util.LoadingMap;
 import com.google.common.collect.EvictingQueue;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.common.SpongeImpl;
@@ -49,6 +50,8 @@ public final class TimingsManager {
     public static boolean privacy = false;
 
     static final Collection<TimingHandler> HANDLERS = new ArrayDeque<>();
+    // The handlers which recorded a timing during the current tick
+    static final List<TimingHandler> TICK_HANDLERS = new ArrayList<>();
     static final ArrayDeque<TimingHistory.MinuteReport> MINUTE_REPORTS = new ArrayDeque<>();
 
     static EvictingQueue<TimingHistory> HISTORY = EvictingQueue.create(12);
@@ -57,6 +60,9 @@ public final class TimingsManager {
     static long historyStart = 0;
     static boolean needsFullReset = false;
     static boolean needsRecheckEnabled = false;
+    // Updated at the start of every tick so the check survives the server
+    // being restarted on a new thread
+    static volatile Thread serverThread;
 
     private TimingsManager() {
     }
@@ -68,15 +74,30 @@ static void reset() {
         needsFullReset = true;
     }
 
+    /**
+     * Checks whether the current thread is the server thread.
+     *
+     * @return True if called from the server thread
+     */
+    static boolean isServerThread() {
+        final Thread thread = serverThread;
+        if (thread == null) {
+            return MinecraftServer.getServer().isCallingFromMinecraftThread();
+        }
+        return Thread.currentThread() == thread;
+    }
+
     /**
      * Ticked every tick by CraftBukkit to count the number of times a timer
-     * caused TPS loss.
+     * caused TPS loss. Only the handlers which were started or recorded a
+     * timing this tick have anything to aggregate or reset.
      */
     static void tick() {
         if (Timings.isTimingsEnabled()) {
             boolean violated = FULL_SERVER_TICK.isViolated();
 
-            for (TimingHandler handler : HANDLERS) {
+            for (int i = 0; i < TICK_HANDLERS.size(); i++) {
+                TimingHandler handler = TICK_HANDLERS.get(i);
                 if (handler.isSpecial()) {
                     // We manually call this
                     continue;
@@ -88,6 +109,7 @@ static void tick() {
             TimingHistory.timedTicks++;
             // Generate TPS/Ping/Tick reports every minute
         }
+        TICK_HANDLERS.clear();
     }
 
     static void stopServer() {
@@ -127,6 +149,7 @@ static void resetTimings() {
         }
 
         HANDLERS.clear();
+        TICK_HANDLERS.clear();
         MINUTE_REPORTS.clear();
 
         TimingHistory.resetTicks(true);
@@ -24,8 +24,6 @@
  */
 package co.aikar.timings;
 
-import net.minecraft.server.MinecraftServer;
-
 class UnsafeTimingHandler extends TimingHandler {
 
     UnsafeTimingHandler(TimingIdentifier id) {
@@ -33,7 +31,7 @@ class UnsafeTimingHandler extends TimingHandler {
     }
 
     private static void checkThread() {
-        if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (!TimingsManager.isServerThread()) {
             throw new IllegalStateException("Calling Timings from Async Operation");
         }
     }
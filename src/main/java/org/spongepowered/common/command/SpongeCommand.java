@@ -48,6 +48,7 @@
 import org.spongepowered.api.command.spec.CommandSpec;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.service.sql.SqlService;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
@@ -61,6 +62,8 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.common.service.sql.PooledDataSource;
+import org.spongepowered.common.service.sql.SqlServiceImpl;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
@@ -70,6 +73,7 @@
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -95,6 +99,7 @@ public static CommandSpec getCommand() {
         nonFlagChildren.register(getHeapCommand(), "heap");
         nonFlagChildren.register(getPluginsCommand(), "plugins");
         nonFlagChildren.register(getTimingsCommand(), "timings");
+        nonFlagChildren.register(getSqlCommand(), "sql");
         flagChildren.register(getChunksCommand(), "chunks");
         flagChildren.register(getConfigCommand(), "config");
         flagChildren.register(getReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -109,7 +114,8 @@ INDENT, title("reload"), LONG_INDENT, "Reloads a global, dimension, or world con
                         INDENT, title("save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
                         INDENT, title("version"), LONG_INDENT, "Prints current Sponge version\n",
                         INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation",
-                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins"))
+                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
+                        INDENT, title("sql"), LONG_INDENT, "Prints the state of the SQL connection pools"))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
                         .valueFlag(world(Text.of("world")), "-world", "w")
@@ -410,6 +416,32 @@ INDENT, title("Main class: "), !container.getInstance().isPresent() ? " Virtual
                 }).build();
     }
 
+    private static CommandSpec getSqlCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Print the state of the SQL connection pools"))
+                .permission("sponge.command.sql")
+                .executor((src, args) -> {
+                    Optional<SqlService> service = SpongeImpl.getGame().getServiceManager().provide(SqlService.class);
+                    if (!service.isPresent() || !(service.get() instanceof SqlServiceImpl)) {
+                        throw new CommandException(Text.of("The SQL service is not provided by Sponge"));
+                    }
+                    Collection<PooledDataSource> sources = ((SqlServiceImpl) service.get()).getDataSources();
+                    Text.Builder builder = Text.builder(String.format("SQL connection pools (%d):", sources.size()));
+                    for (PooledDataSource source : sources) {
+                        builder.append(NEWLINE_TEXT, title(source.getUrl()), Text.of(source.isOpen() ? "" : " (closed)"));
+                        builder.append(NEWLINE_TEXT, Text.of(INDENT, title("Connections: "), source.getActiveConnections(), " active, ",
+                                source.getIdleConnections(), " idle, ", source.getThreadsAwaitingConnection(), " waiting"));
+                        builder.append(NEWLINE_TEXT, Text.of(INDENT, title("Acquired: "), source.getAcquiredConnections(), ", ",
+                                source.getAverageAcquireLatency(TimeUnit.MILLISECONDS), " ms average, ",
+                                source.getMaxAcquireLatency(TimeUnit.MILLISECONDS), " ms max"));
+                        builder.append(NEWLINE_TEXT, Text.of(INDENT, title("Queued queries: "), source.getQueuedQueries()));
+                    }
+                    src.sendMessage(builder.build());
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
     private static CommandCallable getTimingsCommand() {
         return CommandSpec.builder()
                 .permission("sponge.command.timings")
@@ -0,0 +1,243 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config;
+
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable copy of the settings of the config that is active for a
+ * world, flattened into plain fields for the checks which run every tick.
+ *
+ * <p>A snapshot remembers the configs it was resolved from and the
+ * {@link SpongeConfig#getGeneration() generation} of the configs at the
+ * time, and is resolved again once either changes.</p>
+ */
+public final class ConfigSnapshot {
+
+    private final SpongeConfig<?> config;
+    @Nullable private final SpongeConfig<?> worldConfig;
+    @Nullable private final SpongeConfig<?> dimensionConfig;
+    private final int generation;
+
+    private final int maxSpeed;
+    private final int maxBoundingBoxSize;
+    private final int maxCollisionSize;
+
+    private final boolean blockTrackingEnabled;
+    private final ImmutableSet<String> blockTrackingBlacklist;
+
+    private final boolean logBlockBreak;
+    private final boolean logBlockModify;
+    private final boolean logBlockPlace;
+    private final boolean logBlockPopulate;
+    private final boolean logBlockTrack;
+    private final boolean logChunkLoad;
+    private final boolean logChunkUnload;
+    private final boolean logEntitySpawn;
+    private final boolean logEntityDespawn;
+    private final boolean logEntityDeath;
+    private final boolean logEntityCollisionChecks;
+    private final boolean logEntitySpeedRemoval;
+    private final boolean logExploitSignCommandUpdates;
+    private final boolean logExploitItemStackNameOverflow;
+    private final boolean logExploitRespawnInvisibility;
+    private final boolean logWithStackTraces;
+
+    private final int creatureActivationRange;
+    private final int monsterActivationRange;
+    private final int aquaticActivationRange;
+    private final int ambientActivationRange;
+    private final int miscActivationRange;
+
+    public ConfigSnapshot(SpongeConfig<?> config, @Nullable SpongeConfig<?> worldConfig, @Nullable SpongeConfig<?> dimensionConfig,
+            int generation) {
+        this.config = config;
+        this.worldConfig = worldConfig;
+        this.dimensionConfig = dimensionConfig;
+        this.generation = generation;
+
+        final SpongeConfig.ConfigBase base = config.getConfig();
+        final SpongeConfig.EntityCategory entity = base.getEntity();
+        this.maxSpeed = entity.getMaxSpeed();
+        this.maxBoundingBoxSize = entity.getMaxBoundingBoxSize();
+        this.maxCollisionSize = entity.getMaxCollisionSize();
+
+        final SpongeConfig.BlockTrackingCategory blockTracking = base.getBlockTracking();
+        this.blockTrackingEnabled = blockTracking.isEnabled();
+        this.blockTrackingBlacklist = ImmutableSet.copyOf(blockTracking.getBlockBlacklist());
+
+        final SpongeConfig.LoggingCategory logging = base.getLogging();
+        this.logBlockBreak = logging.blockBreakLogging();
+        this.logBlockModify = logging.blockModifyLogging();
+        this.logBlockPlace = logging.blockPlaceLogging();
+        this.logBlockPopulate = logging.blockPopulateLogging();
+        this.logBlockTrack = logging.blockTrackLogging();
+        this.logChunkLoad = logging.chunkLoadLogging();
+        this.logChunkUnload = logging.chunkUnloadLogging();
+        this.logEntitySpawn = logging.entitySpawnLogging();
+        this.logEntityDespawn = logging.entityDespawnLogging();
+        this.logEntityDeath = logging.entityDeathLogging();
+        this.logEntityCollisionChecks = logging.logEntityCollisionChecks();
+        this.logEntitySpeedRemoval = logging.logEntitySpeedRemoval();
+        this.logExploitSignCommandUpdates = logging.logExploitSignCommandUpdates;
+        this.logExploitItemStackNameOverflow = logging.logExploitItemStackNameOverflow;
+        this.logExploitRespawnInvisibility = logging.logExploitRespawnInvisibility;
+        this.logWithStackTraces = logging.logWithStackTraces();
+
+        final SpongeConfig.EntityActivationRangeCategory activationRange = base.getEntityActivationRange();
+        this.creatureActivationRange = activationRange.getCreatureActivationRange();
+        this.monsterActivationRange = activationRange.getMonsterActivationRange();
+        this.aquaticActivationRange = activationRange.getAquaticActivationRange();
+        this.ambientActivationRange = activationRange.getAmbientActivationRange();
+        this.miscActivationRange = activationRange.getMiscActivationRange();
+    }
+
+    /**
+     * Gets whether this snapshot was resolved from the given configs and is
+     * still up to date with them.
+     *
+     * @param worldConfig The world config
+     * @param dimensionConfig The dimension config
+     * @return True if the snapshot is still valid
+     */
+    public boolean isValid(@Nullable SpongeConfig<?> worldConfig, @Nullable SpongeConfig<?> dimensionConfig) {
+        return this.generation == SpongeConfig.getGeneration() && this.worldConfig == worldConfig && this.dimensionConfig == dimensionConfig;
+    }
+
+    /**
+     * Gets the config this snapshot was taken from.
+     *
+     * @return The config
+     */
+    public SpongeConfig<?> getConfig() {
+        return this.config;
+    }
+
+    public int getMaxSpeed() {
+        return this.maxSpeed;
+    }
+
+    public int getMaxBoundingBoxSize() {
+        return this.maxBoundingBoxSize;
+    }
+
+    public int getMaxCollisionSize() {
+        return this.maxCollisionSize;
+    }
+
+    public boolean isBlockTrackingEnabled() {
+        return this.blockTrackingEnabled;
+    }
+
+    public boolean isBlockTrackingBlacklisted(String blockId) {
+        return this.blockTrackingBlacklist.contains(blockId);
+    }
+
+    public boolean blockBreakLogging() {
+        return this.logBlockBreak;
+    }
+
+    public boolean blockModifyLogging() {
+        return this.logBlockModify;
+    }
+
+    public boolean blockPlaceLogging() {
+        return this.logBlockPlace;
+    }
+
+    public boolean blockPopulateLogging() {
+        return this.logBlockPopulate;
+    }
+
+    public boolean blockTrackLogging() {
+        return this.logBlockTrack;
+    }
+
+    public boolean chunkLoadLogging() {
+        return this.logChunkLoad;
+    }
+
+    public boolean chunkUnloadLogging() {
+        return this.logChunkUnload;
+    }
+
+    public boolean entitySpawnLogging() {
+        return this.logEntitySpawn;
+    }
+
+    public boolean entityDespawnLogging() {
+        return this.logEntityDespawn;
+    }
+
+    public boolean entityDeathLogging() {
+        return this.logEntityDeath;
+    }
+
+    public boolean logEntityCollisionChecks() {
+        return this.logEntityCollisionChecks;
+    }
+
+    public boolean logEntitySpeedRemoval() {
+        return this.logEntitySpeedRemoval;
+    }
+
+    public boolean logExploitSignCommandUpdates() {
+        return this.logExploitSignCommandUpdates;
+    }
+
+    public boolean logExploitItemStackNameOverflow() {
+        return this.logExploitItemStackNameOverflow;
+    }
+
+    public boolean logExploitRespawnInvisibility() {
+        return this.logExploitRespawnInvisibility;
+    }
+
+    public boolean logWithStackTraces() {
+        return this.logWithStackTraces;
+    }
+
+    public int getCreatureActivationRange() {
+        return this.creatureActivationRange;
+    }
+
+    public int getMonsterActivationRange() {
+        return this.monsterActivationRange;
+    }
+
+    public int getAquaticActivationRange() {
+        return this.aquaticActivationRange;
+    }
+
+    public int getAmbientActivationRange() {
+        return this.ambientActivationRange;
+    }
+
+    public int getMiscActivationRange() {
+        return this.miscActivationRange;
+    }
+}
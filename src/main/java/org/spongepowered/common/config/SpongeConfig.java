@@ -43,6 +43,7 @@
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetMatcher;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -54,6 +55,7 @@
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
@@ -96,9 +98,23 @@ public enum Type {
     // BUNGEECORD
     public static final String BUNGEECORD_IP_FORWARDING = "ip-forwarding";
 
+    // SCHEDULER
+    public static final String SCHEDULER_ASYNC_THREADS = "async-threads";
+    public static final String SCHEDULER_PLUGIN_ASYNC_CONCURRENCY = "plugin-async-concurrency";
+    public static final String SCHEDULER_PLUGIN_ASYNC_QUEUE_LIMIT = "plugin-async-queue-limit";
+
+    // SQL
+    public static final String SQL_IDLE_POOL_TIMEOUT = "idle-pool-timeout";
+    public static final String SQL_POOLS = "pools";
+    public static final String SQL_POOL_MAX_SIZE = "max-size";
+    public static final String SQL_POOL_CONNECTION_TIMEOUT = "connection-timeout";
+    public static final String SQL_POOL_ASYNC_THREADS = "async-threads";
+    public static final String SQL_POOL_ASYNC_QUEUE_LIMIT = "async-queue-limit";
+
     // GENERAL
     public static final String GENERAL_DISABLE_WARNINGS = "disable-warnings";
     public static final String GENERAL_CHUNK_LOAD_OVERRIDE = "chunk-load-override";
+    public static final String GENERAL_SPAWN_CHUNK_READ_THREADS = "spawn-chunk-read-threads";
 
     // LOGGING
     public static final String LOGGING_BLOCK_BREAK = "block-break";
@@ -145,6 +161,8 @@ public enum Type {
             + "# IRC: #sponge @ irc.esper.net ( http://webchat.esper.net/?channel=sponge )\n"
             + "# Forums: https://forums.spongepowered.org/\n";
 
+    private static final AtomicInteger generation = new AtomicInteger();
+
     private Type type;
     private HoconConfigurationLoader loader;
     private CommentedConfigurationNode root = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults()
@@ -168,13 +186,24 @@ public SpongeConfig(Type type, Path path, String modId) {
             this.loader = HoconConfigurationLoader.builder().setPath(path).build();
             this.configMapper = (ObjectMapper.BoundInstance) ObjectMapper.forClass(this.type.type).bindToNew();
 
-            reload();
+            load();
             save();
         } catch (Exception e) {
             SpongeImpl.getLogger().error("Failed to initialize configuration", e);
         }
     }
 
+    /**
+     * Gets the generation of the loaded configs, which changes every time a
+     * config is reloaded or one of its settings is updated. Anything derived
+     * from config values can compare it to tell when it has to be rebuilt.
+     *
+     * @return The config generation
+     */
+    public static int getGeneration() {
+        return generation.get();
+    }
+
     public T getConfig() {
         return this.configBase;
     }
@@ -189,6 +218,11 @@ public void save() {
     }
 
     public void reload() {
+        load();
+        generation.incrementAndGet();
+    }
+
+    private void load() {
         try {
             this.root = this.loader.load(ConfigurationOptions.defaults()
                     .setSerializers(
@@ -205,6 +239,7 @@ public CompletableFuture<CommentedConfigurationNode> updateSetting(String key, O
             CommentedConfigurationNode upd = getSetting(key);
             upd.setValue(value);
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            generation.incrementAndGet();
             this.loader.save(this.root);
             return upd;
         }, ForkJoinPool.commonPool());
@@ -244,12 +279,18 @@ public static class GlobalConfig extends ConfigBase {
         @Setting("ip-sets")
         private Map<String, List<IpSet>> ipSets = new HashMap<>();
 
+        private Map<String, List<IpSet>> ipSetMatcherSource;
+        private volatile IpSetMatcher ipSetMatcher;
+
         @Setting(value = MODULE_BUNGEECORD)
         private BungeeCordCategory bungeeCord = new BungeeCordCategory();
 
         @Setting
         private ExploitCategory exploits = new ExploitCategory();
 
+        @Setting(comment = "Configuration options related to running scheduled tasks")
+        private SchedulerCategory scheduler = new SchedulerCategory();
+
         public BungeeCordCategory getBungeeCord() {
             return this.bungeeCord;
         }
@@ -281,6 +322,27 @@ public ExploitCategory getExploits() {
             return this.exploits;
         }
 
+        public SchedulerCategory getScheduler() {
+            return this.scheduler;
+        }
+
+        /**
+         * Gets a matcher over the configured ip sets, compiled again only
+         * once the sets have been reloaded.
+         *
+         * @return The ip set matcher
+         */
+        public IpSetMatcher getIpSetMatcher() {
+            IpSetMatcher matcher = this.ipSetMatcher;
+            Map<String, List<IpSet>> ipSets = this.ipSets;
+            if (matcher == null || this.ipSetMatcherSource != ipSets) {
+                matcher = new IpSetMatcher(ipSets);
+                this.ipSetMatcherSource = ipSets;
+                this.ipSetMatcher = matcher;
+            }
+            return matcher;
+        }
+
         public Predicate<InetAddress> getIpSet(String name) {
             return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
         }
@@ -388,10 +450,59 @@ public TimingsCategory getTimings() {
     public static class SqlCategory extends Category {
         @Setting(comment = "Aliases for SQL connections, in the format jdbc:protocol://[username[:password]@]host/database")
         private Map<String, String> aliases = new HashMap<>();
+        @Setting(value = SQL_POOLS, comment = "Connection pool settings of aliases, pools of other connections use the defaults")
+        private Map<String, SqlPoolCategory> pools = new HashMap<>();
+        @Setting(value = SQL_IDLE_POOL_TIMEOUT,
+                comment = "The number of seconds a connection pool may go unused before it is closed, until it is used again. Set to 0 to disable")
+        private int idlePoolTimeout = 600;
 
         public Map<String, String> getAliases() {
             return this.aliases;
         }
+
+        public Map<String, SqlPoolCategory> getPools() {
+            return this.pools;
+        }
+
+        public SqlPoolCategory getPool(@Nullable String alias) {
+            SqlPoolCategory pool = alias == null ? null : this.pools.get(alias);
+            return pool == null ? new SqlPoolCategory() : pool;
+        }
+
+        public int getIdlePoolTimeout() {
+            return this.idlePoolTimeout;
+        }
+    }
+
+    @ConfigSerializable
+    public static class SqlPoolCategory extends Category {
+        @Setting(value = SQL_POOL_MAX_SIZE, comment = "The maximum number of connections of the pool. Set to 0 to size the pool by the number of processors")
+        private int maxSize = 0;
+        @Setting(value = SQL_POOL_CONNECTION_TIMEOUT, comment = "The number of milliseconds to wait for a connection when the pool is exhausted")
+        private long connectionTimeout = 30000;
+        @Setting(value = SQL_POOL_ASYNC_THREADS,
+                comment = "The maximum number of threads running asynchronous queries. Set to 0 to use one per connection of the pool")
+        private int asyncThreads = 0;
+        @Setting(value = SQL_POOL_ASYNC_QUEUE_LIMIT,
+                comment = "The maximum number of asynchronous queries waiting to run, further queries are rejected")
+        private int asyncQueueLimit = 1000;
+
+        public int getMaxSize() {
+            // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
+            return this.maxSize > 0 ? this.maxSize : (Runtime.getRuntime().availableProcessors() * 2) + 1;
+        }
+
+        public long getConnectionTimeout() {
+            return this.connectionTimeout;
+        }
+
+        public int getAsyncThreads() {
+            return this.asyncThreads > 0 ? this.asyncThreads : getMaxSize();
+        }
+
+        public int getAsyncQueueLimit() {
+            return Math.max(1, this.asyncQueueLimit);
+        }
     }
 
     @ConfigSerializable
@@ -457,6 +568,9 @@ public static class GeneralCategory extends Category {
         @Setting(value = GENERAL_CHUNK_LOAD_OVERRIDE,
                 comment = "Forces Chunk Loading on provide requests (speedup for mods that don't check if a chunk is loaded)")
         private boolean chunkLoadOverride = false;
+        @Setting(value = GENERAL_SPAWN_CHUNK_READ_THREADS,
+                comment = "The number of threads reading the spawn chunks of all worlds from disk at startup. Set to 0 to read them on the main thread")
+        private int spawnChunkReadThreads = 4;
 
         public boolean disableWarnings() {
             return this.disableWarnings;
@@ -473,6 +587,10 @@ public boolean chunkLoadOverride() {
         public void setChunkLoadOverride(boolean chunkLoadOverride) {
             this.chunkLoadOverride = chunkLoadOverride;
         }
+
+        public int getSpawnChunkReadThreads() {
+            return this.spawnChunkReadThreads;
+        }
     }
 
     @ConfigSerializable
@@ -554,6 +672,35 @@ public void setPaintingRespawnDelaly(int paintingRespawnDelaly) {
         }
     }
 
+    @ConfigSerializable
+    public static class SchedulerCategory extends Category {
+
+        @Setting(value = SCHEDULER_ASYNC_THREADS,
+                comment = "The maximum number of threads running asynchronous tasks. Set to 0 to create threads as needed. "
+                        + "Only read when the first asynchronous task runs, changes require a restart")
+        private int asyncThreads = 0;
+        @Setting(value = SCHEDULER_PLUGIN_ASYNC_CONCURRENCY,
+                comment = "The maximum number of asynchronous tasks of a single plugin running at the same time. Set to 0 to disable. "
+                        + "Only read when the plugin first runs an asynchronous task, changes require a restart")
+        private int pluginAsyncConcurrency = 0;
+        @Setting(value = SCHEDULER_PLUGIN_ASYNC_QUEUE_LIMIT,
+                comment = "The maximum number of asynchronous tasks of a single plugin waiting to run, further tasks are rejected and cancelled. "
+                        + "Set to 0 to disable. Only read when the plugin first runs an asynchronous task, changes require a restart")
+        private int pluginAsyncQueueLimit = 0;
+
+        public int getAsyncThreads() {
+            return this.asyncThreads;
+        }
+
+        public int getPluginAsyncConcurrency() {
+            return this.pluginAsyncConcurrency;
+        }
+
+        public int getPluginAsyncQueueLimit() {
+            return this.pluginAsyncQueueLimit;
+        }
+    }
+
     @ConfigSerializable
     public static class BungeeCordCategory extends Category {
 
@@ -55,6 +55,19 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Checks if instances of the provided {@link DataHolder} class may be
+     * compatible with this {@link DataProcessor}. If this returns false,
+     * {@link #supports(DataHolder)} must return false for every instance of
+     * the class.
+     *
+     * @param holderClass The data holder class to check
+     * @return False if no instance of the class can support the data
+     */
+    default boolean supportsType(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
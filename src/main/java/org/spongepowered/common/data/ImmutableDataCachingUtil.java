@@ -28,7 +28,7 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.common.collect.ImmutableMap;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
@@ -36,33 +36,42 @@
 import org.spongepowered.common.SpongeImpl;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public final class ImmutableDataCachingUtil {
 
     private ImmutableDataCachingUtil() {}
 
     public static final int CACHE_LIMIT_FOR_INDIVIDUAL_TYPE = 100;
-    public static final int MANIPULATOR_CACHE_LIMIT = 100000;
-    public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
-        .build();
+    private static final ClassValue<TypeCache<ImmutableDataManipulator<?, ?>>> manipulatorCache =
+            new ClassValue<TypeCache<ImmutableDataManipulator<?, ?>>>() {
+                @Override
+                protected TypeCache<ImmutableDataManipulator<?, ?>> computeValue(Class<?> type) {
+                    return new TypeCache<>();
+                }
+            };
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
-        .maximumSize(VALUE_CACHE_LIMIT)
-        .build();
+    private static final ClassValue<ConcurrentMap<Key<?>, TypeCache<ImmutableValue<?>>>> valueCache =
+            new ClassValue<ConcurrentMap<Key<?>, TypeCache<ImmutableValue<?>>>>() {
+                @Override
+                protected ConcurrentMap<Key<?>, TypeCache<ImmutableValue<?>>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     /**
-     * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
-     * does not have the desired {@link ImmutableDataManipulator} with relative
-     * values, a new one is created and submitted to the cache for future
-     * retrieval.
+     * Retrieves a basic manipulator from the cache. If the cache does not have
+     * the desired {@link ImmutableDataManipulator} with relative values, a new
+     * one is created and submitted to the cache for future retrieval.
      *
      * <p>Note that two instances of an {@link ImmutableDataManipulator} may be
      * equal to each other, but they may not be the same instance, this is due
@@ -75,56 +84,139 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
+        final TypeCache<ImmutableDataManipulator<?, ?>> cache = manipulatorCache.get(immutableClass);
+        final Object key = args.length == 1 ? args[0] : new ArgumentsKey(args);
+        ImmutableDataManipulator<?, ?> manipulator = cache.get(key);
+        if (manipulator != null) {
+            return (T) manipulator;
+        }
         try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
+            manipulator = createUnsafeInstance(immutableClass, args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                    + Arrays.toString(args), e);
         } catch (Throwable e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
         }
+        return (T) cache.putIfAbsent(key, manipulator);
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final ConcurrentMap<Key<?>, TypeCache<ImmutableValue<?>>> caches = valueCache.get(valueClass);
+        TypeCache<ImmutableValue<?>> cache = caches.get(usedKey);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(usedKey, k -> new TypeCache<>());
+        }
+        ImmutableValue<?> value = cache.get(arg);
+        if (value != null) {
+            return (T) value;
+        }
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        } else {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                        }
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
+            if (extraArgs == null || extraArgs.length == 0) {
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+            } else {
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+            }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
+        return (T) cache.putIfAbsent(arg, value);
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    /**
+     * The instances cached for one type, keyed by the constructor arguments.
+     * Booleans and small integers are kept in arrays, any other argument is
+     * looked up by its {@link Object#equals(Object)} in a cache which keeps
+     * the most recently used instances. The arrays and the cache together
+     * hold at most {@link #CACHE_LIMIT_FOR_INDIVIDUAL_TYPE} instances.
+     */
+    private static final class TypeCache<T> {
+
+        private static final int SMALL_INTEGER_LIMIT = 32;
+        private static final int OBJECT_LIMIT = CACHE_LIMIT_FOR_INDIVIDUAL_TYPE - 2 - SMALL_INTEGER_LIMIT;
+
+        private final AtomicReferenceArray<T> booleans = new AtomicReferenceArray<>(2);
+        private final AtomicReferenceArray<T> integers = new AtomicReferenceArray<>(SMALL_INTEGER_LIMIT);
+        private final Cache<Object, T> objects = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumSize(OBJECT_LIMIT)
+                .build();
+
+        T get(Object key) {
+            if (key instanceof Boolean) {
+                return this.booleans.get((Boolean) key ? 1 : 0);
+            } else if (key instanceof Integer && isSmall((Integer) key)) {
+                return this.integers.get((Integer) key);
+            } else if (key == null) {
+                return null;
+            }
+            return this.objects.getIfPresent(key);
+        }
+
+        T putIfAbsent(Object key, T instance) {
+            if (key instanceof Boolean) {
+                return this.booleans.compareAndSet((Boolean) key ? 1 : 0, null, instance) ? instance : this.booleans.get((Boolean) key ? 1 : 0);
+            } else if (key instanceof Integer && isSmall((Integer) key)) {
+                return this.integers.compareAndSet((Integer) key, null, instance) ? instance : this.integers.get((Integer) key);
+            } else if (key == null) {
+                return instance;
+            }
+            final T existing = this.objects.asMap().putIfAbsent(snapshot(key), instance);
+            return existing != null ? existing : instance;
+        }
+
+        private static boolean isSmall(int value) {
+            return value >= 0 && value < SMALL_INTEGER_LIMIT;
+        }
+
+        /**
+         * Copies collections used as a key so the key isn't changed
+         * when the caller modifies its collection later on.
+         */
+        private static Object snapshot(Object key) {
+            if (key instanceof Set) {
+                return new HashSet<>((Set<?>) key);
+            } else if (key instanceof List) {
+                return new ArrayList<>((List<?>) key);
+            } else if (key instanceof Map) {
+                return ImmutableMap.copyOf((Map<?, ?>) key);
+            } else if (key instanceof ArgumentsKey) {
+                final Object[] args = ((ArgumentsKey) key).args.clone();
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = snapshot(args[i]);
+                }
+                return new ArgumentsKey(args);
             }
+            return key;
         }
-        return builder.toString();
+
+    }
+
+    private static final class ArgumentsKey {
+
+        final Object[] args;
+        private final int hashCode;
+
+        ArgumentsKey(Object[] args) {
+            this.args = args;
+            this.hashCode = Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ArgumentsKey && this.hashCode == ((ArgumentsKey) obj).hashCode
+                   && Arrays.deepEquals(this.args, ((ArgumentsKey) obj).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
     }
 }
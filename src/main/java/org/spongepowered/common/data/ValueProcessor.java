@@ -139,6 +139,20 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if instances of the provided {@link ValueContainer} class may be
+     * compatible with the value of data associated with this
+     * {@link ValueProcessor}. If this returns false,
+     * {@link #supports(ValueContainer)} must return false for every instance
+     * of the class.
+     *
+     * @param containerClass The value container class to check
+     * @return False if no instance of the class can support the value
+     */
+    default boolean supportsType(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
@@ -45,6 +45,20 @@
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    // The processors that may support instances of each data holder class, in order
+    private final ClassValue<ImmutableList<Tuple<DataProcessor<M, I>, Timing>>> processorsByType =
+            new ClassValue<ImmutableList<Tuple<DataProcessor<M, I>, Timing>>>() {
+                @Override
+                protected ImmutableList<Tuple<DataProcessor<M, I>, Timing>> computeValue(Class<?> type) {
+                    ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
+                    for (Tuple<DataProcessor<M, I>, Timing> tuple : DataProcessorDelegate.this.processors) {
+                        if (tuple.getFirst().supportsType(type)) {
+                            builder.add(tuple);
+                        }
+                    }
+                    return builder.build();
+                }
+            };
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -61,7 +75,7 @@ public int getPriority() {
 
     @Override
     public boolean supports(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processorsByType.get(dataHolder.getClass())) {
             tuple.getSecond().startTiming();
             if (tuple.getFirst().supports(dataHolder)) {
                 tuple.getSecond().stopTiming();
@@ -72,6 +86,11 @@ public boolean supports(DataHolder dataHolder) {
         return false;
     }
 
+    @Override
+    public boolean supportsType(Class<?> holderClass) {
+        return !this.processorsByType.get(holderClass).isEmpty();
+    }
+
     @Override
     public boolean supports(EntityType entityType) {
         return false;
@@ -79,7 +98,7 @@ public boolean supports(EntityType entityType) {
 
     @Override
     public Optional<M> from(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processorsByType.get(dataHolder.getClass())) {
             tuple.getSecond().startTiming();
             if (tuple.getFirst().supports(dataHolder)) {
                 final Optional<M> optional = tuple.getFirst().from(dataHolder);
@@ -96,7 +115,7 @@ public Optional<M> from(DataHolder dataHolder) {
 
     @Override
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processorsByType.get(dataHolder.getClass())) {
             tuple.getSecond().startTiming();
             if (tuple.getFirst().supports(dataHolder)) {
                 final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
@@ -126,7 +145,7 @@ public Optional<M> fill(DataContainer container, M m) {
 
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processorsByType.get(dataHolder.getClass())) {
             tuple.getSecond().startTiming();
             if (tuple.getFirst().supports(dataHolder)) {
                 final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
@@ -156,7 +175,7 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
 
     @Override
     public DataTransactionResult remove(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processorsByType.get(dataHolder.getClass())) {
             tuple.getSecond().startTiming();
             if (tuple.getFirst().supports(dataHolder)) {
                 final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
@@ -173,7 +192,7 @@ public DataTransactionResult remove(DataHolder dataHolder) {
 
     @Override
     public Optional<M> createFrom(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processorsByType.get(dataHolder.getClass())) {
             tuple.getSecond().startTiming();
             if (tuple.getFirst().supports(dataHolder)) {
                 final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
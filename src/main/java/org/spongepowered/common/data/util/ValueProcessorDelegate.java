@@ -46,6 +46,19 @@
 
     private final Key<V> key;
     private final ImmutableList<ValueProcessor<E, V>> processors;
+    // The processors that may support instances of each container class, in order
+    private final ClassValue<ImmutableList<ValueProcessor<E, V>>> processorsByType = new ClassValue<ImmutableList<ValueProcessor<E, V>>>() {
+        @Override
+        protected ImmutableList<ValueProcessor<E, V>> computeValue(Class<?> type) {
+            ImmutableList.Builder<ValueProcessor<E, V>> builder = ImmutableList.builder();
+            for (ValueProcessor<E, V> processor : ValueProcessorDelegate.this.processors) {
+                if (processor.supportsType(type)) {
+                    builder.add(processor);
+                }
+            }
+            return builder.build();
+        }
+    };
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
@@ -64,7 +77,7 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processorsByType.get(container.getClass())) {
             if (processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -77,7 +90,7 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processorsByType.get(container.getClass())) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -90,7 +103,7 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processorsByType.get(container.getClass())) {
             if (processor.supports(container)) {
                 return true;
             }
@@ -101,7 +114,8 @@ public boolean supports(ValueContainer<?> container) {
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        final ImmutableList<ValueProcessor<E, V>> processors = this.processorsByType.get(container.getClass());
+        for (ValueProcessor<E, V> processor : processors) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -109,7 +123,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : processors) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -122,9 +136,14 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
         return DataTransactionResult.failNoData();
     }
 
+    @Override
+    public boolean supportsType(Class<?> containerClass) {
+        return !this.processorsByType.get(containerClass).isEmpty();
+    }
+
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processorsByType.get(container.getClass())) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing map from packed block positions to the owner and
+ * notifier indices of the block, stored without boxing or allocating a
+ * {@link PlayerTracker} per position.
+ *
+ * <p>Both indices are packed into a single {@code long}, the owner in the
+ * upper and the notifier in the lower half. A position without an owner or
+ * notifier is not tracked, which allows the packed value of two missing
+ * indices to mark free slots.</p>
+ */
+public final class PlayerTrackerMap {
+
+    public static final int NO_INDEX = -1;
+
+    private static final long FREE = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return this.values != null && this.values[indexOf(key)] != FREE;
+    }
+
+    /**
+     * Gets the owner index tracked at the given position.
+     *
+     * @param key The packed position
+     * @return The owner index, or {@link #NO_INDEX} if none is tracked
+     */
+    public int getOwner(int key) {
+        return this.values == null ? NO_INDEX : (int) (this.values[indexOf(key)] >> 32);
+    }
+
+    /**
+     * Gets the notifier index tracked at the given position.
+     *
+     * @param key The packed position
+     * @return The notifier index, or {@link #NO_INDEX} if none is tracked
+     */
+    public int getNotifier(int key) {
+        return this.values == null ? NO_INDEX : (int) this.values[indexOf(key)];
+    }
+
+    /**
+     * Sets the owner and notifier indices tracked at the given position. The
+     * position is removed if both indices are {@link #NO_INDEX}.
+     *
+     * @param key The packed position
+     * @param ownerIndex The owner index
+     * @param notifierIndex The notifier index
+     */
+    public void put(int key, int ownerIndex, int notifierIndex) {
+        long value = pack(ownerIndex, notifierIndex);
+        if (value == FREE) {
+            remove(key);
+            return;
+        }
+        if (this.values == null) {
+            this.keys = new int[INITIAL_CAPACITY];
+            this.values = new long[INITIAL_CAPACITY];
+            Arrays.fill(this.values, FREE);
+        }
+        int index = indexOf(key);
+        if (this.values[index] == FREE) {
+            this.keys[index] = key;
+            this.values[index] = value;
+            if (++this.size > (this.values.length >> 2) * 3) {
+                rehash(this.values.length << 1);
+            }
+        } else {
+            this.values[index] = value;
+        }
+    }
+
+    public void setOwner(int key, int ownerIndex) {
+        put(key, ownerIndex, getNotifier(key));
+    }
+
+    public void setNotifier(int key, int notifierIndex) {
+        put(key, getOwner(key), notifierIndex);
+    }
+
+    public void remove(int key) {
+        if (this.values == null) {
+            return;
+        }
+        int mask = this.values.length - 1;
+        int index = indexOf(key);
+        if (this.values[index] == FREE) {
+            return;
+        }
+        // Shift back the following entries of the probe sequence so no lookup stops at the freed slot
+        int next = (index + 1) & mask;
+        while (this.values[next] != FREE) {
+            int home = hash(this.keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                this.keys[index] = this.keys[next];
+                this.values[index] = this.values[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.values[index] = FREE;
+        this.size--;
+    }
+
+    public void clear() {
+        this.keys = null;
+        this.values = null;
+        this.size = 0;
+    }
+
+    /**
+     * Passes every tracked position to the given visitor.
+     *
+     * @param visitor The visitor
+     */
+    public void forEach(Visitor visitor) {
+        if (this.values == null) {
+            return;
+        }
+        for (int i = 0; i < this.values.length; i++) {
+            long value = this.values[i];
+            if (value != FREE) {
+                visitor.visit(this.keys[i], (int) (value >> 32), (int) value);
+            }
+        }
+    }
+
+    private int indexOf(int key) {
+        int mask = this.values.length - 1;
+        int index = hash(key) & mask;
+        while (this.values[index] != FREE && this.keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        this.keys = new int[capacity];
+        this.values = new long[capacity];
+        Arrays.fill(this.values, FREE);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != FREE) {
+                int index = indexOf(oldKeys[i]);
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long pack(int ownerIndex, int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    public interface Visitor {
+
+        void visit(int key, int ownerIndex, int notifierIndex);
+
+    }
+
+}
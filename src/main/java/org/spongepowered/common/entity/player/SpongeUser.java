@@ -48,6 +48,7 @@
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
+import org.spongepowered.common.service.user.UserDiscoverer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 
@@ -291,6 +292,7 @@ public void save() {
         try {
             CompressedStreamTools.writeCompressed(tag, new FileOutputStream(dataFile));
             dirtyUsers.remove(this);
+            UserDiscoverer.onPlayerDataSaved(saveHandler.playersDirectory, getUniqueId());
         } catch (IOException e) {
             SpongeHooks.logWarning("Failed to save user file {}. {}", dataFile, e);
         }
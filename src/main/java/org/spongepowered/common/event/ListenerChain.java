@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeImpl;
+
+/**
+ * A pre-compiled chain of listeners for a single event type.
+ *
+ * <p>Implementations are generated by {@link ListenerChainFactory} and call
+ * every listener through its own call site, so the JIT sees a monomorphic
+ * receiver for each listener instead of a single megamorphic call inside a
+ * loop.</p>
+ */
+public abstract class ListenerChain {
+
+    protected final RegisteredListener<?>[] listeners;
+
+    protected ListenerChain(RegisteredListener<?>[] listeners) {
+        this.listeners = checkNotNull(listeners, "listeners");
+    }
+
+    /**
+     * Passes the event to every listener in this chain, in order.
+     *
+     * @param event The event to post
+     */
+    public abstract void post(Event event);
+
+    protected final void handleException(Event event, int index, Throwable e) {
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), this.listeners[index].getPlugin(), e);
+    }
+
+}
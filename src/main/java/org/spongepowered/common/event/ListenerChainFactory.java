@@ -0,0 +1,190 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.F_SAME;
+import static org.objectweb.asm.Opcodes.F_SAME1;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates {@link ListenerChain}s which invoke every listener of an event
+ * type from a dedicated call site.
+ *
+ * <p>Every chain is defined in its own {@link DefineableClassLoader} so the
+ * generated class can be unloaded once the chain is rebuilt after a
+ * registration change.</p>
+ */
+public final class ListenerChainFactory {
+
+    /**
+     * The maximum amount of listeners a generated chain may contain, larger
+     * chains would risk exceeding the maximum method size.
+     */
+    public static final int MAX_LISTENERS = 1024;
+
+    private static final ListenerChain EMPTY_CHAIN = new ListenerChain(new RegisteredListener<?>[0]) {
+
+        @Override
+        public void post(Event event) {
+        }
+    };
+
+    private static final String BASE_CHAIN = Type.getInternalName(ListenerChain.class);
+    private static final String LISTENER_NAME = Type.getInternalName(EventListener.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String REGISTERED_LISTENER_NAME = Type.getInternalName(RegisteredListener.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + Type.getDescriptor(RegisteredListener.class) + ")V";
+    private static final String HANDLE_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + ")V";
+    private static final String EXCEPTION_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + "ILjava/lang/Throwable;)V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final DefineableClassLoader classLoader;
+    private final String targetPackage;
+
+    public ListenerChainFactory(String targetPackage, DefineableClassLoader classLoader) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+        this.classLoader = checkNotNull(classLoader, "classLoader");
+    }
+
+    public ListenerChain create(Class<?> eventClass, RegisteredListener<?>[] listeners) throws Exception {
+        checkNotNull(eventClass, "eventClass");
+        checkArgument(listeners.length <= MAX_LISTENERS, "Too many listeners for a single chain: %s", listeners.length);
+        if (listeners.length == 0) {
+            return EMPTY_CHAIN;
+        }
+
+        String name = this.targetPackage + eventClass.getSimpleName() + "Chain_" + this.id.incrementAndGet();
+        Class<? extends ListenerChain> chainClass = new DefineableClassLoader(this.classLoader)
+                .defineClass(name, generateClass(name, listeners.length));
+        return chainClass.getConstructor(RegisteredListener[].class).newInstance((Object) listeners);
+    }
+
+    private static byte[] generateClass(String name, int size) {
+        name = name.replace('.', '/');
+
+        ClassWriter cw = new ClassWriter(0);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_CHAIN, null);
+        for (int i = 0; i < size; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "l" + i, LISTENER_DESCRIPTOR, null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_CHAIN, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < size; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitIndex(mv, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER_NAME, "getListener", "()" + LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "l" + i, LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(3, 2);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "post", HANDLE_METHOD_DESCRIPTOR, null, null);
+            mv.visitCode();
+            for (int i = 0; i < size; i++) {
+                // try { this.li.handle(event); } catch (Throwable t) { handleException(event, i, t); }
+                Label start = new Label();
+                Label end = new Label();
+                Label handler = new Label();
+                Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "l" + i, LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, LISTENER_NAME, "handle", HANDLE_METHOD_DESCRIPTOR, true);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, next);
+                mv.visitLabel(handler);
+                mv.visitFrame(F_SAME1, 0, null, 1, new Object[] {"java/lang/Throwable"});
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitIndex(mv, i);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, BASE_CHAIN, "handleException", EXCEPTION_METHOD_DESCRIPTOR, false);
+                mv.visitLabel(next);
+                mv.visitFrame(F_SAME, 0, null, 0, null);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(4, 3);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    private static void visitIndex(MethodVisitor mv, int index) {
+        if (index <= 5) {
+            mv.visitInsn(ICONST_0 + index);
+        } else if (index <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, index);
+        } else {
+            mv.visitIntInsn(SIPUSH, index);
+        }
+    }
+
+}
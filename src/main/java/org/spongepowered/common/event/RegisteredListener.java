@@ -37,6 +37,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -72,6 +74,10 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -95,11 +101,19 @@ public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        @Nullable private final ListenerChain chain;
+        final int generation;
 
         private static final Order[] ORDERS = Order.values();
 
         Cache(List<RegisteredListener<?>> listeners) {
+            this(listeners, null, -1);
+        }
+
+        Cache(List<RegisteredListener<?>> listeners, @Nullable ListenerChain chain, int generation) {
             this.listeners = listeners;
+            this.chain = chain;
+            this.generation = generation;
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -118,6 +132,18 @@ public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
 
+        /**
+         * Gets the pre-compiled listener chain for all listeners in this
+         * cache, if one could be generated.
+         *
+         * @return The listener chain, or null to fall back to iterating the
+         *     listeners
+         */
+        @Nullable
+        public ListenerChain getChain() {
+            return this.chain;
+        }
+
     }
 
 }
@@ -115,6 +115,12 @@ public static ChangeInventoryEvent.Held callChangeInventoryHeldEvent(EntityPlaye
             return null; // should never happen but just in case it does
         }
 
+        if (!SpongeImpl.hasListeners(ChangeInventoryEvent.Held.class)) {
+            player.inventory.currentItem = packetIn.getSlotId();
+            player.markPlayerActive();
+            return null; // nobody would observe the event, skip creating the snapshots
+        }
+
         ItemStackSnapshot sourceSnapshot =
                 sourceSlot.getStack() != null ? ((org.spongepowered.api.item.inventory.ItemStack) sourceSlot.getStack()).createSnapshot()
                         : ItemStackSnapshot.NONE;
@@ -475,6 +481,10 @@ public static void handleClickInteractInventoryEvent(Cause cause, EntityPlayerMP
     @SuppressWarnings("unchecked")
     public static CollideEntityEvent callCollideEntityEvent(net.minecraft.world.World world, net.minecraft.entity.Entity sourceEntity,
             List<net.minecraft.entity.Entity> entities) {
+        if (!SpongeImpl.hasListeners(CollideEntityEvent.class)) {
+            return null;
+        }
+
         Cause cause = null;
         if (sourceEntity != null) {
             cause = Cause.of(NamedCause.source(sourceEntity));
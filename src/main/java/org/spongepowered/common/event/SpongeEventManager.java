@@ -27,12 +27,8 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.spongepowered.api.event.Cancellable;
@@ -50,39 +46,69 @@
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class SpongeEventManager implements EventManager {
 
+    /**
+     * Whether listeners are dispatched through generated {@link ListenerChain}s
+     * instead of iterating the baked listener list.
+     */
+    public static final boolean USE_LISTENER_CHAINS = Boolean.parseBoolean(System.getProperty("sponge.event.chains", "true"));
+
+    /**
+     * Serialises registration changes, posting events never acquires it.
+     */
     private final Object lock = new Object();
 
     private final PluginManager pluginManager;
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
+    private final ListenerChainFactory chainFactory = new ListenerChainFactory("org.spongepowered.common.event.chain", classLoader);
     private final Set<Object> registeredListeners = Sets.newHashSet();
 
     /**
-     * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * An immutable snapshot of all registered handlers by their event class.
+     * <p>The snapshot is replaced as a whole whenever handlers are added or
+     * removed, after which {@link #generation} is incremented.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends Event>, RegisteredListener.Cache>() {
-                @Override
-                public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws Exception {
-                    return bakeHandlers(eventClass);
-                }
-            });
+    private volatile ImmutableSetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = ImmutableSetMultimap.of();
+    private volatile int generation;
+
+    /**
+     * The baked handlers for each event type for quick event posting.
+     * <p>A baked cache is discarded lazily on the next post once its
+     * generation no longer matches the current {@link #generation}.</p>
+     */
+    private final ClassValue<HandlerSlot> handlersCache = new ClassValue<HandlerSlot>() {
+
+        @Override
+        protected HandlerSlot computeValue(Class<?> type) {
+            return new HandlerSlot();
+        }
+    };
+
+    private static final class HandlerSlot {
+
+        @Nullable volatile RegisteredListener.Cache cache;
+
+        /**
+         * The generation this slot's listener flag was computed for, shifted
+         * left by one, with the lowest bit holding the flag itself.
+         */
+        volatile long listenerState = -1;
+
+    }
 
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
@@ -90,20 +116,32 @@ public SpongeEventManager(PluginManager pluginManager) {
     }
 
     private RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
+        // Read the generation before the snapshot, a concurrent change then
+        // at worst causes the cache to be baked again on the next post
+        final int generation = this.generation;
+        final ImmutableSetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = this.handlersByEvent;
+
         List<RegisteredListener<?>> handlers = Lists.newArrayList();
         @SuppressWarnings({"unchecked", "rawtypes"})
         Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<?> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
-                }
+        for (Class<?> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                handlers.addAll(handlersByEvent.get(type));
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+
+        ListenerChain chain = null;
+        if (USE_LISTENER_CHAINS && handlers.size() <= ListenerChainFactory.MAX_LISTENERS) {
+            try {
+                chain = this.chainFactory.create(rootEvent, handlers.toArray(new RegisteredListener<?>[handlers.size()]));
+            } catch (Throwable e) {
+                SpongeImpl.getLogger().error("Failed to generate listener chain for {}, falling back to iteration", rootEvent.getName(), e);
+            }
+        }
+        return new RegisteredListener.Cache(handlers, chain, generation);
     }
 
     private static boolean isValidHandler(Method method) {
@@ -124,20 +162,29 @@ private void register(RegisteredListener<?> handler) {
 
     private void register(List<RegisteredListener<?>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            ImmutableSetMultimap<Class<?>, RegisteredListener<?>> current = this.handlersByEvent;
+            ImmutableSetMultimap.Builder<Class<?>, RegisteredListener<?>> builder = ImmutableSetMultimap.builder();
+            builder.putAll(current);
 
+            boolean changed = false;
             for (RegisteredListener<?> handler : handlers) {
-                if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
+                if (!current.containsEntry(handler.getEventClass(), handler)) {
+                    builder.put(handler.getEventClass(), handler);
                     changed = true;
                 }
             }
 
             if (changed) {
-                this.handlersCache.invalidateAll();
+                publish(builder.build());
             }
         }
     }
 
+    private void publish(ImmutableSetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent) {
+        this.handlersByEvent = handlersByEvent;
+        this.generation++;
+    }
+
     public void registerListener(PluginContainer plugin, Object listenerObject) {
         checkNotNull(plugin, "plugin");
         checkNotNull(listenerObject, "listener");
@@ -217,19 +264,19 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
+            ImmutableSetMultimap.Builder<Class<?>, RegisteredListener<?>> builder = ImmutableSetMultimap.builder();
 
-            Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
-            while (itr.hasNext()) {
-                RegisteredListener<?> handler = itr.next();
-                if (unregister.test(handler)) {
-                    itr.remove();
+            boolean changed = false;
+            for (Map.Entry<Class<?>, RegisteredListener<?>> entry : this.handlersByEvent.entries()) {
+                if (unregister.test(entry.getValue())) {
                     changed = true;
+                } else {
+                    builder.put(entry);
                 }
             }
 
             if (changed) {
-                this.handlersCache.invalidateAll();
+                publish(builder.build());
             }
         }
     }
@@ -247,8 +294,66 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
+    /**
+     * Gets whether any listener is registered that could receive an event of
+     * the given type, which includes listeners for its super types as well as
+     * for any of its sub types.
+     *
+     * <p>Call sites should check this before constructing events which are
+     * expensive to create, the result for Sponge's own listeners is cached
+     * per event type until listeners are registered or unregistered.
+     * Listeners of the platform which {@link #post(Event)} bridges events to
+     * are included through {@link #hasPlatformListeners(Class)}.</p>
+     *
+     * @param eventClass The event type
+     * @return True if an event of the type could be observed by a listener
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        return hasSpongeListeners(eventClass) || hasPlatformListeners(eventClass);
+    }
+
+    /**
+     * Gets whether a listener registered with the platform could receive an
+     * event of the given type. Implementations which dispatch posted events
+     * to listeners of the platform, such as a mod event bus, must override
+     * this, otherwise events skipped for lack of Sponge listeners never reach
+     * them.
+     *
+     * @param eventClass The event type
+     * @return True if an event of the type could be observed by a platform
+     *     listener
+     */
+    protected boolean hasPlatformListeners(Class<? extends Event> eventClass) {
+        return false;
+    }
+
+    private boolean hasSpongeListeners(Class<? extends Event> eventClass) {
+        final HandlerSlot slot = this.handlersCache.get(checkNotNull(eventClass, "eventClass"));
+        final long state = slot.listenerState;
+        final int generation = this.generation;
+        if (state >> 1 == generation) {
+            return (state & 1) != 0;
+        }
+
+        boolean hasListeners = false;
+        for (Class<?> type : this.handlersByEvent.keySet()) {
+            if (type.isAssignableFrom(eventClass) || eventClass.isAssignableFrom(type)) {
+                hasListeners = true;
+                break;
+            }
+        }
+        slot.listenerState = (long) generation << 1 | (hasListeners ? 1 : 0);
+        return hasListeners;
+    }
+
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
+        final Class<? extends Event> eventClass = checkNotNull(event, "event").getClass();
+        final HandlerSlot slot = this.handlersCache.get(eventClass);
+        RegisteredListener.Cache cache = slot.cache;
+        if (cache == null || cache.generation != this.generation) {
+            slot.cache = cache = bakeHandlers(eventClass);
+        }
+        return cache;
     }
 
     @SuppressWarnings("unchecked")
@@ -266,7 +371,14 @@ protected static boolean post(Event event, List<RegisteredListener<?>> handlers)
 
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        final RegisteredListener.Cache cache = getHandlerCache(event);
+        final ListenerChain chain = cache.getChain();
+        if (chain == null) {
+            return post(event, cache.getListeners());
+        }
+
+        chain.post(event);
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
     
     public boolean post(Event event, boolean allowClientThread) {
@@ -31,28 +31,37 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface IMixinChunk {
 
     Cause getCurrentPopulateCause();
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
+    PlayerTrackerMap getTrackedShortPlayerPositions();
 
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    PlayerTrackerMap getTrackedIntPlayerPositions();
+
+    int getBlockOwnerIndex(BlockPos pos);
+
+    int getBlockNotifierIndex(BlockPos pos);
 
     Optional<User> getBlockOwner(BlockPos pos);
 
     Optional<User> getBlockNotifier(BlockPos pos);
 
+    CompletableFuture<Optional<User>> getBlockOwnerAsync(BlockPos pos);
+
+    CompletableFuture<Optional<User>> getBlockNotifierAsync(BlockPos pos);
+
     IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState currentState, BlockSnapshot newBlockSnapshot);
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
+    void setTrackedIntPlayerPositions(PlayerTrackerMap trackedPlayerPositions);
 
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void setTrackedShortPlayerPositions(PlayerTrackerMap trackedPlayerPositions);
 
 }
@@ -24,7 +24,9 @@
  */
 package org.spongepowered.common.interfaces.text;
 
+import net.minecraft.network.play.server.S02PacketChat;
 import net.minecraft.util.IChatComponent;
+import org.spongepowered.api.text.chat.ChatType;
 
 import java.util.Locale;
 
@@ -32,6 +34,8 @@ public interface IMixinText {
 
     IChatComponent toComponent();
 
+    S02PacketChat getChatPacket(ChatType type);
+
     String toPlain();
 
     String toJson();
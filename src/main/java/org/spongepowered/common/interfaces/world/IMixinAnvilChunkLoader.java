@@ -0,0 +1,72 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces.world;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
+
+public interface IMixinAnvilChunkLoader {
+
+    /**
+     * Starts reading a chunk from its region file on the given executor.
+     * The data is decompressed and parsed off the main thread, and is used
+     * once the chunk is loaded.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param executor The executor to read the chunk on
+     * @return The read started by this call, or null if the chunk is
+     *     already being read ahead or is about to be saved
+     */
+    @Nullable
+    CompletableFuture<?> readChunkAhead(int x, int z, Executor executor);
+
+    /**
+     * Discards a chunk read ahead if it was not loaded, unless the chunk
+     * was read again since.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param read The read returned by {@link #readChunkAhead}
+     */
+    void discardChunkReadAhead(int x, int z, CompletableFuture<?> read);
+
+    /**
+     * Discards the chunks read ahead which were not loaded.
+     */
+    void clearChunksReadAhead();
+
+    /**
+     * Gets whether a chunk was saved before, either to its region file or
+     * to the queue of pending saves.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return True if the chunk exists
+     */
+    boolean chunkExists(int x, int z);
+}
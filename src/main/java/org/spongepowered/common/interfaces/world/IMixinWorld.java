@@ -30,15 +30,20 @@
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.BlockPos;
 import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.ScheduledBlockUpdate;
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.world.gen.PopulatorType;
+import org.spongepowered.common.config.ConfigSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.world.BlockOwnerCache;
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.gen.SpongeChunkProvider;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +55,14 @@ public interface IMixinWorld {
 
     SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig();
 
+    /**
+     * Gets the snapshot of the config that is active for this world,
+     * resolving it again if any config changed since it was taken.
+     *
+     * @return The active config snapshot
+     */
+    ConfigSnapshot getConfigSnapshot();
+
     List<Entity> getCapturedEntities();
 
     List<Entity> getCapturedEntityItems();
@@ -112,4 +125,24 @@ public interface IMixinWorld {
     
     void setSpongeGenerator(SpongeChunkProvider spongegen);
 
+    BlockOwnerCache getBlockOwnerCache();
+
+    /**
+     * Resolves the owners of the given positions in one pass. Positions in
+     * unloaded chunks or without an owner are left out.
+     *
+     * @param positions The positions
+     * @return The owners by position
+     */
+    Map<BlockPos, User> getBlockOwners(Iterable<BlockPos> positions);
+
+    /**
+     * Gets the pending scheduled updates of the blocks in the given chunk.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The scheduled updates, ordered as they will be processed
+     */
+    Collection<ScheduledBlockUpdate> getChunkScheduledUpdates(int chunkX, int chunkZ);
+
 }
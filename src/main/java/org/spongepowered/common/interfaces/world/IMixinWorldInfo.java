@@ -43,6 +43,8 @@ public interface IMixinWorldInfo {
 
     Optional<UUID> getUniqueIdForIndex(int index);
 
+    Optional<Integer> getExistingIndexForUniqueId(UUID uuid);
+
     int getDimensionId();
 
     boolean getIsMod();
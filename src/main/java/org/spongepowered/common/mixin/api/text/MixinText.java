@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.api.text;
 
 import com.google.common.collect.ImmutableList;
+import net.minecraft.network.play.server.S02PacketChat;
 import net.minecraft.util.ChatComponentStyle;
 import net.minecraft.util.ChatStyle;
 import net.minecraft.util.IChatComponent;
@@ -32,6 +33,7 @@
 import org.spongepowered.api.text.action.ClickAction;
 import org.spongepowered.api.text.action.HoverAction;
 import org.spongepowered.api.text.action.ShiftClickAction;
+import org.spongepowered.api.text.chat.ChatType;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.format.TextFormat;
 import org.spongepowered.asm.mixin.Mixin;
@@ -41,6 +43,7 @@
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.action.SpongeClickAction;
 import org.spongepowered.common.text.action.SpongeHoverAction;
+import org.spongepowered.common.text.chat.SpongeChatType;
 import org.spongepowered.common.text.format.SpongeTextColor;
 
 import java.util.Collections;
@@ -60,6 +63,7 @@ public abstract class MixinText implements IMixinText {
 
     private IChatComponent component;
     private String json;
+    private volatile S02PacketChat[] chatPackets;
 
     protected ChatComponentStyle createComponent() {
         throw new UnsupportedOperationException();
@@ -111,6 +115,25 @@ public IChatComponent toComponent() {
         return getHandle().createCopy(); // Mutable instances are not nice :(
     }
 
+    @Override
+    public S02PacketChat getChatPacket(ChatType type) {
+        byte id = ((SpongeChatType) type).getByteId();
+        if (id < 0 || id >= 3) {
+            return SpongeTexts.createChatPacket((Text) (Object) this, type);
+        }
+        S02PacketChat[] packets = this.chatPackets;
+        S02PacketChat packet = packets == null ? null : packets[id];
+        if (packet == null) {
+            // Texts are immutable, so the packet can be shared by every player the text is sent to
+            packet = SpongeTexts.createChatPacket((Text) (Object) this, type);
+            // Texts may be sent from any thread, so the filled array is only published once complete
+            packets = packets == null ? new S02PacketChat[3] : packets.clone();
+            packets[id] = packet;
+            this.chatPackets = packets;
+        }
+        return packet;
+    }
+
     @Override
     public String toPlain() {
         return ((IMixinChatComponent) getHandle()).toPlain();
@@ -30,6 +30,7 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
@@ -48,6 +49,7 @@
 import net.minecraft.world.WorldType;
 import net.minecraft.world.chunk.storage.AnvilSaveHandler;
 import net.minecraft.world.storage.ISaveHandler;
+import net.minecraft.world.storage.SaveHandler;
 import net.minecraft.world.storage.WorldInfo;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.Platform;
@@ -89,6 +91,7 @@
 import org.spongepowered.common.interfaces.IMixinCommandSource;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.IMixinSubject;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
@@ -96,6 +99,7 @@
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.service.user.UserDiscoverer;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.ServerUtils;
 import org.spongepowered.common.util.SpongeHooks;
@@ -104,6 +108,7 @@
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.common.world.WorldMigrator;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
+import org.spongepowered.common.world.storage.WorldPropertiesCatalogue;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -118,6 +123,9 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Mixin(MinecraftServer.class)
 public abstract class MixinMinecraftServer implements Server, ConsoleSource, IMixinSubject, IMixinCommandSource, IMixinCommandSender,
@@ -156,6 +164,7 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, IMi
     private boolean enableSaving = true;
     private GameProfileManager profileManager = new SpongeProfileManager();
     private MessageChannel broadcastChannel = MessageChannel.TO_ALL;
+    private final WorldPropertiesCatalogue unloadedWorldCatalogue = new WorldPropertiesCatalogue();
 
     @Override
     public Optional<World> getWorld(String worldName) {
@@ -446,6 +455,8 @@ protected void loadAllWorlds(String overworldFolder, String worldName, long seed
         }
 
         this.serverConfigManager.setPlayerManager(new WorldServer[]{DimensionManager.getWorldFromDimId(0)});
+        // Listed while the spawn areas are prepared, rather than by the first user lookup
+        UserDiscoverer.indexPlayerData(((SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler()).playersDirectory);
         this.setDifficultyForAllWorlds(this.getDifficulty());
         this.initialWorldChunkLoad();
     }
@@ -572,6 +583,7 @@ protected void initialWorldChunkLoad() {
             worldServers.add(0, overworld);
         }
 
+        final List<WorldServer> spawnWorlds = new ArrayList<>();
         for (WorldServer worldServer : worldServers) {
             final SpongeConfig<?> activeConfig = SpongeHooks.getActiveConfig(worldServer);
 
@@ -581,17 +593,73 @@ protected void initialWorldChunkLoad() {
                 }
             }
 
-            this.prepareSpawnArea(worldServer);
+            spawnWorlds.add(worldServer);
+        }
+
+        final int readThreads = SpongeImpl.getGlobalConfig().getConfig().getGeneral().getSpawnChunkReadThreads();
+        ExecutorService executor = null;
+        if (readThreads > 0 && !spawnWorlds.isEmpty()) {
+            executor = Executors.newFixedThreadPool(readThreads, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge Spawn Chunk Reader %d")
+                    .setDaemon(true)
+                    .build());
+            this.readSpawnAreaAhead(spawnWorlds.get(0), executor);
+        }
+
+        try {
+            for (int i = 0; i < spawnWorlds.size(); i++) {
+                final WorldServer worldServer = spawnWorlds.get(i);
+                if (executor != null && i + 1 < spawnWorlds.size()) {
+                    // Read the next world while the chunks of this one are loaded, so at most two
+                    // spawn areas are held in memory
+                    this.readSpawnAreaAhead(spawnWorlds.get(i + 1), executor);
+                }
+                this.prepareSpawnArea(worldServer);
+                if (executor != null) {
+                    clearChunksReadAhead(worldServer);
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                for (WorldServer worldServer : spawnWorlds) {
+                    clearChunksReadAhead(worldServer);
+                }
+            }
         }
 
         this.clearCurrentTask();
     }
 
+    private void readSpawnAreaAhead(WorldServer world, ExecutorService executor) {
+        if (!(world.theChunkProviderServer.chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            return;
+        }
+        IMixinAnvilChunkLoader chunkLoader = (IMixinAnvilChunkLoader) world.theChunkProviderServer.chunkLoader;
+        BlockPos blockpos = world.getSpawnPoint();
+        for (int k = -192; k <= 192; k += 16) {
+            for (int l = -192; l <= 192; l += 16) {
+                int x = blockpos.getX() + k >> 4;
+                int z = blockpos.getZ() + l >> 4;
+                if (!world.theChunkProviderServer.chunkExists(x, z)) {
+                    chunkLoader.readChunkAhead(x, z, executor);
+                }
+            }
+        }
+    }
+
+    private static void clearChunksReadAhead(WorldServer world) {
+        if (world.theChunkProviderServer.chunkLoader instanceof IMixinAnvilChunkLoader) {
+            ((IMixinAnvilChunkLoader) world.theChunkProviderServer.chunkLoader).clearChunksReadAhead();
+        }
+    }
+
     protected void prepareSpawnArea(WorldServer world) {
         int i = 0;
         this.setUserMessage("menu.generatingTerrain");
         logger.info("Preparing start region for level {} ({})", world.provider.getDimensionId(), ((World) world).getName());
         BlockPos blockpos = world.getSpawnPoint();
+        long start = System.nanoTime();
         long j = MinecraftServer.getCurrentTimeMillis();
 
         for (int k = -192; k <= 192 && this.isServerRunning(); k += 16) {
@@ -608,6 +676,8 @@ protected void prepareSpawnArea(WorldServer world) {
             }
         }
 
+        logger.info("Prepared start region for level {} ({}) in {} ms", world.provider.getDimensionId(), ((World) world).getName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         this.clearCurrentTask();
     }
 
@@ -633,6 +703,7 @@ public Optional<World> loadWorld(String worldName) {
         if (optExisting.isPresent()) {
             return optExisting;
         }
+        this.invalidateUnloadedWorld(worldName);
 
         if (!getAllowNether() && !worldName.equals(getFolderName())) {
             SpongeImpl.getLogger().error("Unable to load world " + worldName + ". Multi-world is disabled via allow-nether.");
@@ -840,24 +911,27 @@ public Collection<WorldProperties> getUnloadedWorlds() {
             return Collections.emptyList();
         }
         List<WorldProperties> worlds = Lists.newArrayList();
+        List<File> worldDirectories = Lists.newArrayList();
         for (File f : rootDir.listFiles()) {
             if (f.isDirectory()) {
+                worldDirectories.add(f);
                 if (this.getWorld(f.getName()).isPresent()) {
                     continue;
                 }
-                File level = new File(f, "level.dat");
-                File levelSponge = new File(f, "level_sponge.dat");
-                if (level.isFile() && levelSponge.isFile()) {
-                    WorldInfo info = getHandler(f.getName()).loadWorldInfo();
-                    if (info != null) {
-                        worlds.add((WorldProperties) info);
-                    }
-                }
+                this.unloadedWorldCatalogue.get(f, name -> getHandler(name).loadWorldInfo()).ifPresent(worlds::add);
             }
         }
+        this.unloadedWorldCatalogue.retain(worldDirectories);
         return worlds;
     }
 
+    private void invalidateUnloadedWorld(String worldName) {
+        File rootDir = DimensionManager.getCurrentSaveRootDirectory();
+        if (rootDir != null) {
+            this.unloadedWorldCatalogue.invalidate(new File(rootDir, worldName));
+        }
+    }
+
     @Override
     public Optional<WorldProperties> getWorldProperties(UUID uniqueId) {
         return WorldPropertyRegistryModule.getInstance().getWorldProperties(uniqueId);
@@ -905,6 +979,7 @@ public boolean saveWorldProperties(WorldProperties properties) {
         } else {
             getHandler(properties.getWorldName()).saveWorldInfo((WorldInfo) properties);
         }
+        this.invalidateUnloadedWorld(properties.getWorldName());
         // No return values or exceptions so can only assume true.
         return true;
     }
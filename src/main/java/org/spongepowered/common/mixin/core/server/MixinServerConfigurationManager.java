@@ -94,6 +94,7 @@
 import org.spongepowered.common.interfaces.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
@@ -495,6 +496,13 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
         NBTTagCompound nbt = new NBTTagCompound();
         player.writeToNBT(nbt);
         ((SpongeUser) ((IMixinEntityPlayerMP) player).getUserObject()).readFromNbt(nbt);
+        invalidateBlockOwners(player);
+    }
+
+    private static void invalidateBlockOwners(EntityPlayerMP player) {
+        for (WorldServer world : DimensionManager.getWorlds()) {
+            ((IMixinWorld) world).getBlockOwnerCache().invalidate(player.getUniqueID());
+        }
     }
 
     @Inject(method = "saveAllPlayerData()V", at = @At("RETURN"))
@@ -515,7 +523,9 @@ private void onSaveAllPlayerData(CallbackInfo ci) {
     public void playerLoggedIn(EntityPlayerMP playerIn) {
         this.playerEntityList.add(playerIn);
         this.uuidToPlayerMap.put(playerIn.getUniqueID(), playerIn);
-        // Sponge Start - check invisibility from plugins
+        // Sponge Start - the player may no longer be unknown to the block owner caches
+        invalidateBlockOwners(playerIn);
+        // Sponge - check invisibility from plugins
         if (!((IMixinEntity) playerIn).isReallyREALLYInvisible()) {
             this.sendPacketToAllPlayers(new S38PacketPlayerListItem(S38PacketPlayerListItem.Action.ADD_PLAYER, playerIn));
         }
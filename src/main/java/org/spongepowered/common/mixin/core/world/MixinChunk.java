@@ -27,16 +27,11 @@
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.tileentity.TileEntity;
-import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.MathHelper;
@@ -57,9 +52,7 @@
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
-import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.item.inventory.ItemStack;
-import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.Direction;
 import org.spongepowered.api.util.DiscreteTransform3;
 import org.spongepowered.api.util.PositionOutOfBoundsException;
@@ -73,10 +66,9 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.PlayerTracker;
-import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
@@ -87,19 +79,19 @@
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public abstract class MixinChunk implements Chunk, IMixinChunk {
 
-    public Map<Integer, PlayerTracker> trackedIntBlockPositions = Maps.newHashMap();
-    public Map<Short, PlayerTracker> trackedShortBlockPositions = Maps.newHashMap();
+    public PlayerTrackerMap trackedIntBlockPositions = new PlayerTrackerMap();
+    public PlayerTrackerMap trackedShortBlockPositions = new PlayerTrackerMap();
     private Cause populateCause;
     private org.spongepowered.api.world.World world;
     private UUID uuid;
@@ -269,7 +261,7 @@ public void setBlock(int x, int y, int z, BlockState block) {
 
     @Override
     public void setBlock(int x, int y, int z, BlockState block, boolean notifyNeighbors) {
-        SpongeHooks.setBlockState((net.minecraft.world.chunk.Chunk) (Object) this, this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15),
+        SpongeHooks.setBlockState((net.minecraft.world.chunk.Chunk) (Object) this, (this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15),
                 block, notifyNeighbors);
     }
 
@@ -281,7 +273,7 @@ public BlockType getBlockType(int x, int y, int z) {
 
     @Override
     public BlockSnapshot createSnapshot(int x, int y, int z) {
-        return this.world.createSnapshot(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15));
+        return this.world.createSnapshot((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15));
     }
 
     @Override
@@ -291,7 +283,7 @@ public boolean restoreSnapshot(BlockSnapshot snapshot, boolean force, boolean no
 
     @Override
     public boolean restoreSnapshot(int x, int y, int z, BlockSnapshot snapshot, boolean force, boolean notifyNeighbors) {
-        return this.world.restoreSnapshot(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), snapshot, force, notifyNeighbors);
+        return this.world.restoreSnapshot((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), snapshot, force, notifyNeighbors);
     }
 
     @Override
@@ -358,48 +350,6 @@ public Extent getExtentView(DiscreteTransform3 transform) {
         return new ExtentViewTransform(this, transform);
     }
 
-    @SuppressWarnings({"unchecked"})
-    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At(value = "RETURN"))
-    public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<Entity> p_177414_4_, CallbackInfo ci) {
-        if (this.worldObj.isRemote) {
-            return;
-        }
-
-        if (listToFill.size() == 0) {
-            return;
-        }
-
-        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.worldObj, entityIn, listToFill);
-        if (event == null) {
-            return;
-        } else if (event.isCancelled()) {
-            listToFill.clear();
-        } else {
-            listToFill = (List<net.minecraft.entity.Entity>)(List<?>) event.getEntities();
-        }
-    }
-
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    @Inject(method = "getEntitiesOfTypeWithinAAAB", at = @At(value = "RETURN"))
-    public void onGetEntitiesOfTypeWithinAAAB(Class<? extends Entity> entityClass, AxisAlignedBB aabb, List listToFill, Predicate<Entity> p_177430_4_, CallbackInfo ci) {
-        if (this.worldObj.isRemote) {
-            return;
-        }
-
-        if (listToFill.size() == 0) {
-            return;
-        }
-
-        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.worldObj, null, listToFill);
-        if (event == null) {
-            return;
-        } else if (event.isCancelled()) {
-            listToFill.clear();
-        } else {
-            listToFill = (List<net.minecraft.entity.Entity>)(List<?>) event.getEntities();
-        }
-    }
-
     @Override
     public Cause getCurrentPopulateCause() {
         return this.populateCause;
@@ -522,7 +472,7 @@ public IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState
 
     @Override
     public void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType) {
-        if (this.worldObj.isRemote || !SpongeHooks.getActiveConfig(this.worldObj).getConfig().getBlockTracking().isEnabled()) {
+        if (this.worldObj.isRemote || !SpongeHooks.getConfigSnapshot(this.worldObj).isBlockTrackingEnabled()) {
             return;
         } else {
             IMixinWorld spongeWorld = (IMixinWorld) this.worldObj;
@@ -532,117 +482,90 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
             }
         }
 
-        if (!SpongeHooks.getActiveConfig(this.worldObj).getConfig().getBlockTracking().getBlockBlacklist().contains(((BlockType)block).getId())) {
+        if (!SpongeHooks.getConfigSnapshot(this.worldObj).isBlockTrackingBlacklisted(((BlockType)block).getId())) {
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, true);
         } else {
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, false);
         }
 
+        int index = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
         if (pos.getY() <= 255) {
             short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedShortBlockPositions.get(blockPos).ownerIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                if (this.trackedShortBlockPositions.containsKey(blockPos)) {
+                    // A new owner of a tracked block also becomes its notifier
+                    this.trackedShortBlockPositions.put(blockPos, index, index);
                 } else {
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
+                    this.trackedShortBlockPositions.setOwner(blockPos, index);
                 }
             } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
+                this.trackedShortBlockPositions.setNotifier(blockPos, index);
             }
         } else {
             int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedIntBlockPositions.get(blockPos).ownerIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                } else {
-                    this.trackedIntBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                }
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                this.trackedIntBlockPositions.setOwner(blockPos, index);
             } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
+                this.trackedIntBlockPositions.setNotifier(blockPos, index);
             }
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
+    public PlayerTrackerMap getTrackedIntPlayerPositions() {
         return this.trackedIntBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
+    public PlayerTrackerMap getTrackedShortPlayerPositions() {
         return this.trackedShortBlockPositions;
     }
 
     @Override
-    public Optional<User> getBlockOwner(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
+    public int getBlockOwnerIndex(BlockPos pos) {
+        int intPos = blockPosToInt(pos);
+        if (this.trackedIntBlockPositions.containsKey(intPos)) {
+            return this.trackedIntBlockPositions.getOwner(intPos);
         }
+        return this.trackedShortBlockPositions.getOwner(blockPosToShort(pos));
+    }
 
-        return Optional.empty();
+    @Override
+    public int getBlockNotifierIndex(BlockPos pos) {
+        int intPos = blockPosToInt(pos);
+        if (this.trackedIntBlockPositions.containsKey(intPos)) {
+            return this.trackedIntBlockPositions.getNotifier(intPos);
+        }
+        return this.trackedShortBlockPositions.getNotifier(blockPosToShort(pos));
+    }
+
+    @Override
+    public Optional<User> getBlockOwner(BlockPos pos) {
+        return ((IMixinWorld) this.worldObj).getBlockOwnerCache().get(getBlockOwnerIndex(pos));
     }
 
     @Override
     public Optional<User> getBlockNotifier(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        }
+        return ((IMixinWorld) this.worldObj).getBlockOwnerCache().get(getBlockNotifierIndex(pos));
+    }
 
-        return Optional.empty();
+    @Override
+    public CompletableFuture<Optional<User>> getBlockOwnerAsync(BlockPos pos) {
+        return ((IMixinWorld) this.worldObj).getBlockOwnerCache().getAsync(getBlockOwnerIndex(pos));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> getBlockNotifierAsync(BlockPos pos) {
+        return ((IMixinWorld) this.worldObj).getBlockOwnerCache().getAsync(getBlockNotifierIndex(pos));
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
+    public void setTrackedIntPlayerPositions(PlayerTrackerMap trackedPositions) {
         this.trackedIntBlockPositions = trackedPositions;
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedShortPlayerPositions(PlayerTrackerMap trackedPositions) {
         this.trackedShortBlockPositions = trackedPositions;
     }
 
@@ -768,7 +691,7 @@ public Collection<org.spongepowered.api.block.tileentity.TileEntity> getTileEnti
     @Override
     public Optional<org.spongepowered.api.block.tileentity.TileEntity> getTileEntity(int x, int y, int z) {
         return Optional.ofNullable((org.spongepowered.api.block.tileentity.TileEntity) this.getTileEntity(
-                new BlockPos(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15)), EnumCreateEntityType.CHECK));
+                new BlockPos((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15)), EnumCreateEntityType.CHECK));
     }
 
     @Override
@@ -778,52 +701,52 @@ public Optional<org.spongepowered.api.entity.Entity> restoreSnapshot(EntitySnaps
 
     @Override
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        return this.world.getScheduledUpdates(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15));
+        return this.world.getScheduledUpdates((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15));
     }
 
     @Override
     public ScheduledBlockUpdate addScheduledUpdate(int x, int y, int z, int priority, int ticks) {
-        return this.world.addScheduledUpdate(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), priority, ticks);
+        return this.world.addScheduledUpdate((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), priority, ticks);
     }
 
     @Override
     public void removeScheduledUpdate(int x, int y, int z, ScheduledBlockUpdate update) {
-        this.world.removeScheduledUpdate(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), update);
+        this.world.removeScheduledUpdate((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), update);
     }
 
     @Override
     public boolean hitBlock(int x, int y, int z, Direction side, Cause cause) {
-        return this.world.hitBlock(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), side, cause);
+        return this.world.hitBlock((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), side, cause);
     }
 
     @Override
     public boolean interactBlock(int x, int y, int z, Direction side, Cause cause) {
-        return this.world.interactBlock(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), side, cause);
+        return this.world.interactBlock((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), side, cause);
     }
 
     @Override
     public boolean placeBlock(int x, int y, int z, BlockState block, Direction side, Cause cause) {
-        return this.world.placeBlock(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), block, side, cause);
+        return this.world.placeBlock((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), block, side, cause);
     }
 
     @Override
     public boolean interactBlockWith(int x, int y, int z, ItemStack itemStack, Direction side, Cause cause) {
-        return this.world.interactBlockWith(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), itemStack, side, cause);
+        return this.world.interactBlockWith((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), itemStack, side, cause);
     }
 
     @Override
     public boolean digBlock(int x, int y, int z, Cause cause) {
-        return this.world.digBlock(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), cause);
+        return this.world.digBlock((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), cause);
     }
 
     @Override
     public boolean digBlockWith(int x, int y, int z, ItemStack itemStack, Cause cause) {
-        return this.world.digBlockWith(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), itemStack, cause);
+        return this.world.digBlockWith((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), itemStack, cause);
     }
 
     @Override
     public int getBlockDigTimeWith(int x, int y, int z, ItemStack itemStack, Cause cause) {
-        return this.world.getBlockDigTimeWith(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15), itemStack, cause);
+        return this.world.getBlockDigTimeWith((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15), itemStack, cause);
     }
 
 }
@@ -104,6 +104,7 @@
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.block.ScheduledBlockUpdate;
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataHolder;
@@ -135,6 +136,7 @@
 import org.spongepowered.api.event.block.NotifyNeighborBlockEvent;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.NamedCause;
+import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.event.entity.DestructEntityEvent;
 import org.spongepowered.api.event.entity.SpawnEntityEvent;
 import org.spongepowered.api.event.item.inventory.DropItemEvent;
@@ -178,27 +180,35 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.config.ConfigSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.data.property.SpongePropertyRegistry;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.effect.particle.SpongeParticleEffect;
 import org.spongepowered.common.effect.particle.SpongeParticleHelper;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.entity.IMixinEntityActivation;
 import org.spongepowered.common.interfaces.entity.IMixinEntityLightningBolt;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
 import org.spongepowered.common.interfaces.world.IMixinWorldType;
 import org.spongepowered.common.interfaces.world.gen.IPopulatorProvider;
+import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockCaptureBuffer;
+import org.spongepowered.common.world.BlockOwnerCache;
+import org.spongepowered.common.world.BlockTickSource;
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeChunkPreGenerate;
@@ -211,9 +221,11 @@
 import org.spongepowered.common.world.gen.WorldGenConstants;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -241,6 +253,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
     private static final Vector2i BIOME_SIZE = BIOME_MAX.sub(BIOME_MIN).add(1, 1);
     private static final String CHECK_NO_ENTITY_COLLISION = "checkNoEntityCollision(Lnet/minecraft/util/AxisAlignedBB;Lnet/minecraft/entity/Entity;)Z";
     private static final String GET_ENTITIES_WITHIN_AABB = "Lnet/minecraft/world/World;getEntitiesWithinAABBExcludingEntity(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/AxisAlignedBB;)Ljava/util/List;";
+    private static final String GET_ENTITIES_OF_TYPE_WITHIN_AABB = "getEntitiesWithinAABB(Ljava/lang/Class;Lnet/minecraft/util/AxisAlignedBB;Lcom/google/common/base/Predicate;)Ljava/util/List;";
     public boolean processingCaptureCause = false;
     public boolean captureEntitySpawns = true;
     public boolean captureBlockDecay = false;
@@ -251,18 +264,20 @@ public abstract class MixinWorld implements World, IMixinWorld {
     public List<Entity> capturedEntityItems = new ArrayList<>();
     public List<Entity> capturedOnBlockAddedEntities = new ArrayList<>();
     public List<Entity> capturedOnBlockAddedItems = new ArrayList<>();
-    public BlockSnapshot currentTickBlock = null;
+    public BlockTickSource currentTickBlock = null;
     public BlockSnapshot currentTickOnBlockAdded = null;
     public Entity currentTickEntity = null;
     public TileEntity currentTickTileEntity = null;
     public SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
-    public List<BlockSnapshot> capturedSpongeBlockSnapshots = new ArrayList<>();
+    public BlockCaptureBuffer capturedBlocks = new BlockCaptureBuffer();
+    @Nullable private BlockCaptureBuffer spareCapturedBlocks = new BlockCaptureBuffer();
     public Map<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> capturedSpongePopulators = Maps.newHashMap();
     private boolean keepSpawnLoaded;
     private boolean worldSpawnerRunning;
     private boolean chunkSpawnerRunning;
     @Nullable private volatile Context worldContext;
     private SpongeChunkProvider spongegen;
+    @Nullable private ConfigSnapshot configSnapshot;
     private Weather prevWeather;
     private long weatherStartTime;
 
@@ -308,6 +323,16 @@ public abstract class MixinWorld implements World, IMixinWorld {
     @Shadow public abstract List<net.minecraft.entity.Entity> getEntitiesWithinAABBExcludingEntity(net.minecraft.entity.Entity entityIn, AxisAlignedBB bb);
 
     private final net.minecraft.world.World nmsWorld = (net.minecraft.world.World)(Object) this;
+    private final BlockOwnerCache blockOwnerCache = new BlockOwnerCache(this.nmsWorld);
+    private final Deque<BlockTickSource> tickSourcePool = new ArrayDeque<>();
+    // The source set through setCurrentTickBlock, reused for every snapshot
+    @Nullable private BlockTickSource snapshotTickSource;
+
+    /**
+     * The order in which captured block changes are processed, matching the
+     * order of the {@link ChangeBlockEvent}s posted for them.
+     */
+    private static final CaptureType[] EVENT_CAPTURE_TYPES = {CaptureType.BREAK, CaptureType.MODIFY, CaptureType.PLACE, CaptureType.DECAY};
 
     // @formatter:on
 
@@ -349,32 +374,40 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             BlockSnapshot newBlockSnapshot = null;
             Transaction<BlockSnapshot> transaction = null;
             LinkedHashMap<Vector3i, Transaction<BlockSnapshot>> populatorSnapshotList = null;
+            boolean captured = false;
+            int captureIndex = -1;
 
             // Don't capture if we are restoring blocks
             if (!this.isRemote && !this.restoringBlocks) {
-                originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState, (IBlockAccess) this, pos), pos, flags);
+                captured = true;
+                // Resolved before the change, as it depends on the neighbours and tile entity of the block
+                IBlockState extendedState = currentState.getBlock().getActualState(currentState, (IBlockAccess) this, pos);
 
                 if (StaticMixinHelper.runningGenerator != null) {
                     if (this.capturedSpongePopulators.get(StaticMixinHelper.runningGenerator) == null) {
                         this.capturedSpongePopulators.put(StaticMixinHelper.runningGenerator, new LinkedHashMap<>());
                     }
 
+                    originalBlockSnapshot = createSpongeBlockSnapshot(currentState, extendedState, pos, flags);
                     ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.POPULATE;
                     transaction = new Transaction<>(originalBlockSnapshot, originalBlockSnapshot.withState((BlockState) newState));
                     populatorSnapshotList = this.capturedSpongePopulators.get(StaticMixinHelper.runningGenerator);
                     populatorSnapshotList.put(transaction.getOriginal().getPosition(), transaction);
-                } else if (this.captureBlockDecay) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.DECAY;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
-                } else if (block == Blocks.air) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.BREAK;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
-                } else if (block != currentState.getBlock()) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.PLACE;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
                 } else {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.MODIFY;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
+                    CaptureType captureType;
+                    if (this.captureBlockDecay) {
+                        captureType = CaptureType.DECAY;
+                    } else if (block == Blocks.air) {
+                        captureType = CaptureType.BREAK;
+                    } else if (block != currentState.getBlock()) {
+                        captureType = CaptureType.PLACE;
+                    } else {
+                        captureType = CaptureType.MODIFY;
+                    }
+                    // The tile entity is replaced by the change, so its data has to be copied right away
+                    SpongeBlockSnapshot tileSnapshot = SpongeImplHooks.blockHasTileEntity(currentState.getBlock(), currentState)
+                            ? createSpongeBlockSnapshot(currentState, extendedState, pos, flags) : null;
+                    captureIndex = this.capturedBlocks.add(pos, currentState, extendedState, flags, captureType, tileSnapshot);
                 }
             }
 
@@ -383,11 +416,11 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             IBlockState iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, newBlockSnapshot);
 
             if (iblockstate1 == null) {
-                if (originalBlockSnapshot != null) {
-                    this.capturedSpongeBlockSnapshots.remove(originalBlockSnapshot);
-                    if (populatorSnapshotList != null) {
-                        populatorSnapshotList.remove(transaction);
-                    }
+                if (captureIndex != -1) {
+                    this.capturedBlocks.remove(captureIndex, pos);
+                }
+                if (populatorSnapshotList != null) {
+                    populatorSnapshotList.remove(transaction);
                 }
                 return false;
             } else {
@@ -400,7 +433,7 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
                 }
 
                 // Don't notify clients or update physics while capturing blockstates
-                if (originalBlockSnapshot == null) {
+                if (!captured) {
                     // Modularize client and physic updates
                     markAndNotifyNeighbors(pos, chunk, iblockstate1, newState, flags);
                 }
@@ -431,12 +464,10 @@ public void onForceBlockUpdateTick(Block block, net.minecraft.world.World worldI
             return;
         }
 
-        this.processingCaptureCause = true;
-        this.currentTickBlock = createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, (IBlockAccess) this, pos), pos, 0);
+        BlockTickSource source = startBlockTick(pos, state, 0);
         block.updateTick(worldIn, pos, state, rand);
-        handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
-        this.currentTickBlock = null;
-        this.processingCaptureCause = false;
+        handlePostTickCaptures(source);
+        endBlockTick(source);
     }
 
     @Redirect(method = "updateEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V") )
@@ -471,6 +502,13 @@ public void onUpdateTileEntities(ITickable tile) {
 
     @Redirect(method = "updateEntityWithOptionalForce", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V") )
     public void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
+        // Only the update of inactive entities is skipped, the rest of the method
+        // still keeps the chunk of the entity up to date. Entities only implement
+        // IMixinEntityActivation while the activation range module is enabled.
+        if (!this.isRemote && entity instanceof IMixinEntityActivation && !EntityActivationRange.checkIfActive(entity)) {
+            EntityActivationRange.inactiveTick(entity);
+            return;
+        }
         if (this.isRemote || this.currentTickEntity != null || StaticMixinHelper.packetPlayer != null) {
             entity.onUpdate();
             return;
@@ -486,7 +524,8 @@ public void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
 
     @Inject(method = "onEntityRemoved", at = @At(value = "HEAD"))
     public void onEntityRemoval(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
-        if (entityIn.isDead && entityIn.getEntityId() != StaticMixinHelper.lastDestroyedEntityId && !(entityIn instanceof EntityLivingBase)) {
+        if (entityIn.isDead && entityIn.getEntityId() != StaticMixinHelper.lastDestroyedEntityId && !(entityIn instanceof EntityLivingBase)
+                && SpongeImpl.hasListeners(DestructEntityEvent.class)) {
             MessageChannel originalChannel = MessageChannel.TO_NONE;
 
             DestructEntityEvent event = SpongeEventFactory.createDestructEntityEvent(Cause.of(NamedCause.source(this)), originalChannel,
@@ -547,14 +586,16 @@ public boolean spawnEntity(Entity entity, Cause cause) {
             }
 
             if (!flag && this.processingCaptureCause) {
-                BlockSnapshot tickBlock = null;
+                Object tickBlock = null;
+                BlockPos sourcePos = null;
                 if (this.currentTickBlock != null) {
                     tickBlock = this.currentTickBlock;
+                    sourcePos = this.currentTickBlock.getPos();
                 } else if (this.currentTickOnBlockAdded != null) {
                     tickBlock = this.currentTickOnBlockAdded;
+                    sourcePos = VecHelper.toBlockPos(this.currentTickOnBlockAdded.getPosition());
                 }
                 if (tickBlock != null) {
-                    BlockPos sourcePos = VecHelper.toBlockPos(tickBlock.getPosition());
                     Block targetBlock = getBlockState(entityIn.getPosition()).getBlock();
                     SpongeHooks.tryToTrackBlockAndEntity(this.nmsWorld, tickBlock, entityIn, sourcePos, targetBlock, entityIn.getPosition(), PlayerTracker.Type.NOTIFIER);
                 }
@@ -628,21 +669,20 @@ else if (!(entityIn instanceof EntityPlayer) && entityIn instanceof EntityTameab
                 }
 
                 org.spongepowered.api.event.Event event = null;
-                ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
-                entitySnapshotBuilder.add(((Entity) entityIn).createSnapshot());
-
                 if (entityIn instanceof EntityItem) {
                     this.capturedEntityItems.add((Item) entityIn);
-                    event =
-                            SpongeEventFactory.createDropItemEventCustom(cause, (List<Entity>) (List<?>) this.capturedEntityItems,
-                                                                         entitySnapshotBuilder.build(), (World) (Object) this);
+                    if (SpongeImpl.hasListeners(DropItemEvent.Custom.class)) {
+                        event = SpongeEventFactory.createDropItemEventCustom(cause, (List<Entity>) (List<?>) this.capturedEntityItems,
+                                ImmutableList.of(((Entity) entityIn).createSnapshot()), (World) (Object) this);
+                    }
                 } else {
                     this.capturedEntities.add((Entity) entityIn);
-                    event =
-                            SpongeEventFactory.createSpawnEntityEventCustom(cause, this.capturedEntities,
-                                                                            entitySnapshotBuilder.build(), (World) (Object) this);
+                    if (SpongeImpl.hasListeners(SpawnEntityEvent.Custom.class)) {
+                        event = SpongeEventFactory.createSpawnEntityEventCustom(cause, this.capturedEntities,
+                                ImmutableList.of(((Entity) entityIn).createSnapshot()), (World) (Object) this);
+                    }
                 }
-                if (!SpongeImpl.postEvent(event) && !entity.isRemoved()) {
+                if ((event == null || !SpongeImpl.postEvent(event)) && !entity.isRemoved()) {
                     if (entityIn instanceof EntityWeatherEffect) {
                         return addWeatherEffect(entityIn, cause);
                     }
@@ -663,13 +703,29 @@ else if (!(entityIn instanceof EntityPlayer) && entityIn instanceof EntityTameab
         }
     }
 
+    /**
+     * Handles the changes captured while ticking a block, only creating the
+     * cause, and with it the snapshot of the block, if anything was captured.
+     *
+     * @param source The block being ticked
+     */
+    public void handlePostTickCaptures(BlockTickSource source) {
+        if (!this.isRemote && !this.restoringBlocks && hasTickCaptures()) {
+            handlePostTickCaptures(Cause.of(NamedCause.source(source.getSnapshot())));
+        }
+    }
+
+    public boolean hasTickCaptures() {
+        return this.capturedEntities.size() != 0 || this.capturedEntityItems.size() != 0 || !this.capturedBlocks.isEmpty()
+                || this.capturedSpongePopulators.size() != 0 || StaticMixinHelper.packetPlayer != null;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void handlePostTickCaptures(Cause cause) {
         if (this.isRemote || this.restoringBlocks || cause == null) {
             return;
-        } else if (this.capturedEntities.size() == 0 && this.capturedEntityItems.size() == 0 && this.capturedSpongeBlockSnapshots.size() == 0
-                && this.capturedSpongePopulators.size() == 0 && StaticMixinHelper.packetPlayer == null) {
+        } else if (!hasTickCaptures()) {
             return; // nothing was captured, return
         }
 
@@ -737,12 +793,23 @@ public void handlePostTickCaptures(Cause cause) {
         ChangeBlockEvent.Place placeEvent = null;
         List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
-        Iterator<BlockSnapshot> iterator = this.capturedSpongeBlockSnapshots.iterator();
-        while (iterator.hasNext()) {
-            SpongeBlockSnapshot blockSnapshot = (SpongeBlockSnapshot) iterator.next();
-            CaptureType captureType = blockSnapshot.captureType;
-            BlockPos pos = VecHelper.toBlockPos(blockSnapshot.getPosition());
-            IBlockState currentState = getBlockState(pos);
+        // Swap the capture buffer, changes captured while processing these are left for the next capture cause
+        final BlockCaptureBuffer capturedBlocks = this.capturedBlocks;
+        this.capturedBlocks = this.spareCapturedBlocks != null ? this.spareCapturedBlocks : new BlockCaptureBuffer();
+        this.spareCapturedBlocks = null;
+        capturedBlocks.captureFinalStates(world);
+
+        if (!capturedBlocks.isEmpty() && !SpongeImpl.hasListeners(ChangeBlockEvent.class)) {
+            // Nobody observes the changes, process them without creating any snapshots
+            processCapturedBlocks(capturedBlocks, cause, player, packetIn);
+            capturedBlocks.clear();
+        }
+
+        for (int i = 0; i < capturedBlocks.size(); i++) {
+            SpongeBlockSnapshot blockSnapshot = capturedBlocks.getSnapshot(i, this);
+            CaptureType captureType = capturedBlocks.getCaptureType(i);
+            BlockPos pos = capturedBlocks.getPosition(i);
+            IBlockState currentState = capturedBlocks.getFinalState(i);
             Transaction<BlockSnapshot> transaction = new Transaction<>(blockSnapshot, createSpongeBlockSnapshot(currentState, currentState.getBlock()
                 .getActualState(currentState, (IBlockAccess) this, pos), pos, 0));
             if (captureType == CaptureType.BREAK) {
@@ -755,8 +822,9 @@ public void handlePostTickCaptures(Cause cause) {
                 modifyBuilder.add(transaction);
             }
             multiBuilder.add(transaction);
-            iterator.remove();
         }
+        capturedBlocks.clear();
+        this.spareCapturedBlocks = capturedBlocks;
 
         blockBreakTransactions = breakBuilder.build();
         blockDecayTransactions = decayBuilder.build();
@@ -782,7 +850,7 @@ public void handlePostTickCaptures(Cause cause) {
             placeEvent = (ChangeBlockEvent.Place) changeBlockEvent;
             blockEvents.add(changeBlockEvent);
         }
-        if (blockEvents.size() > 1) {
+        if (blockEvents.size() > 1 && SpongeImpl.hasListeners(ChangeBlockEvent.Post.class)) {
             if (breakEvent != null) {
                 cause = cause.with(breakEvent);
             }
@@ -869,22 +937,8 @@ public void handlePostTickCaptures(Cause cause) {
                         invalidTransactions.add(transaction);
                     } else {
                         if (captureType == CaptureType.BREAK && cause.first(User.class).isPresent()) {
-                             BlockPos pos = VecHelper.toBlockPos(transaction.getOriginal().getPosition());
-                             for (EntityHanging hanging : SpongeHooks.findHangingEntities(world, pos)) {
-                                 if (hanging != null) {
-                                     if (hanging instanceof EntityItemFrame) {
-                                         EntityItemFrame itemFrame = (EntityItemFrame) hanging;
-                                         net.minecraft.entity.Entity dropCause = null;
-                                         if (cause.root() instanceof net.minecraft.entity.Entity) {
-                                             dropCause = (net.minecraft.entity.Entity) cause.root();
-                                         }
-
-                                         itemFrame.dropItemOrSelf(dropCause, true);
-                                         itemFrame.setDead();
-                                     }
-                                 }
-                             }
-                         }
+                            dropHangingEntities(cause, VecHelper.toBlockPos(transaction.getOriginal().getPosition()));
+                        }
 
                         if (captureType == CaptureType.PLACE && player != null && transaction.getOriginal().getState().getType() == BlockTypes.AIR) {
                             BlockPos pos = VecHelper.toBlockPos(transaction.getFinal().getPosition());
@@ -982,6 +1036,82 @@ public void handlePostTickCaptures(Cause cause) {
         StaticMixinHelper.dropCause = null;
     }
 
+    /**
+     * Processes captured block changes when no {@link ChangeBlockEvent}
+     * listener is registered. This does the same as handling the uncancelled
+     * events in {@link #handlePostTickCaptures(Cause)}, but works on the
+     * capture buffer directly instead of on transactions.
+     */
+    @SuppressWarnings("unchecked")
+    private void processCapturedBlocks(BlockCaptureBuffer capturedBlocks, Cause cause, @Nullable EntityPlayerMP player,
+            @Nullable Packet packetIn) {
+        net.minecraft.world.World world = (net.minecraft.world.World) (Object) this;
+        boolean hasUser = cause.first(User.class).isPresent();
+        for (CaptureType captureType : EVENT_CAPTURE_TYPES) {
+            boolean captured = false;
+            for (int i = 0; i < capturedBlocks.size(); i++) {
+                if (capturedBlocks.getCaptureType(i) != captureType) {
+                    continue;
+                }
+                captured = true;
+                if (captureType == CaptureType.BREAK && hasUser) {
+                    dropHangingEntities(cause, capturedBlocks.getPosition(i));
+                }
+                if (captureType == CaptureType.PLACE && player != null && capturedBlocks.getState(i).getBlock() == Blocks.air) {
+                    BlockPos pos = capturedBlocks.getPosition(i);
+                    Block newBlock = capturedBlocks.getFinalState(i).getBlock();
+                    IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
+                    spongeChunk.addTrackedBlockPosition(newBlock, pos, (User) player, PlayerTracker.Type.OWNER);
+                    spongeChunk.addTrackedBlockPosition(newBlock, pos, (User) player, PlayerTracker.Type.NOTIFIER);
+                }
+            }
+            if (!captured) {
+                continue;
+            }
+
+            if (this.capturedEntityItems.size() > 0) {
+                handleDroppedItems(cause, (List<Entity>) (List<?>) this.capturedEntityItems, null, captureType == CaptureType.BREAK);
+            }
+
+            for (int i = 0; i < capturedBlocks.size(); i++) {
+                if (capturedBlocks.getCaptureType(i) != captureType) {
+                    continue;
+                }
+                BlockPos pos = capturedBlocks.getPosition(i);
+                IBlockState originalState = capturedBlocks.getState(i);
+                IBlockState newState = capturedBlocks.getFinalState(i);
+                int updateFlag = capturedBlocks.getUpdateFlag(i);
+                SpongeHooks.logBlockAction(cause, world, captureType, (BlockState) originalState, (BlockState) newState);
+                notifyBlockAdded(pos, newState, updateFlag, (IBlockAccess) this);
+                markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
+            }
+
+            if (captureType == CaptureType.PLACE && player != null && packetIn instanceof C08PacketPlayerBlockPlacement) {
+                C08PacketPlayerBlockPlacement packet = (C08PacketPlayerBlockPlacement) packetIn;
+                if (packet.getStack() != null) {
+                    player.addStat(StatList.objectUseStats[net.minecraft.item.Item.getIdFromItem(packet.getStack().getItem())], 1);
+                }
+            }
+        }
+    }
+
+    private void dropHangingEntities(Cause cause, BlockPos pos) {
+        for (EntityHanging hanging : SpongeHooks.findHangingEntities(this.nmsWorld, pos)) {
+            if (hanging != null) {
+                if (hanging instanceof EntityItemFrame) {
+                    EntityItemFrame itemFrame = (EntityItemFrame) hanging;
+                    net.minecraft.entity.Entity dropCause = null;
+                    if (cause.root() instanceof net.minecraft.entity.Entity) {
+                        dropCause = (net.minecraft.entity.Entity) cause.root();
+                    }
+
+                    itemFrame.dropItemOrSelf(dropCause, true);
+                    itemFrame.setDead();
+                }
+            }
+        }
+    }
+
     private void handlePostPlayerBlockEvent(CaptureType captureType, EntityPlayerMP player, net.minecraft.world.World world,
             List<Transaction<BlockSnapshot>> transactions) {
         if (captureType == CaptureType.BREAK && player != null) {
@@ -1023,6 +1153,8 @@ private void sendItemChangeToPlayer(EntityPlayerMP player) {
 
     @Override
     public void handleDroppedItems(Cause cause, List<Entity> entities, List<Transaction<BlockSnapshot>> invalidTransactions, boolean destructItems) {
+        // Snapshots are only needed if somebody observes the event
+        final boolean hasListeners = SpongeImpl.hasListeners(destructItems ? DropItemEvent.Destruct.class : DropItemEvent.Dispense.class);
         Iterator<Entity> iter = entities.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -1041,18 +1173,22 @@ public void handleDroppedItems(Cause cause, List<Entity> entities, List<Transact
                     ((IMixinEntity) currentEntity).trackEntityUniqueId(NbtDataUtil.SPONGE_ENTITY_CREATOR, owner.get().getUniqueId());
                 }
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         DropItemEvent event = null;
 
-        if (destructItems) {
+        if (!hasListeners) {
+            event = null;
+        } else if (destructItems) {
             event = SpongeEventFactory.createDropItemEventDestruct(cause, entities, entitySnapshotBuilder.build(), (World) this);
         } else {
             event = SpongeEventFactory.createDropItemEventDispense(cause, entities, entitySnapshotBuilder.build(), (World) this);
         }
 
-        if (!(SpongeImpl.postEvent(event))) {
+        if (event == null || !(SpongeImpl.postEvent(event))) {
             // Handle player deaths
             for (Player causePlayer : cause.allOf(Player.class)) {
                 EntityPlayerMP playermp = (EntityPlayerMP) causePlayer;
@@ -1067,8 +1203,9 @@ public void handleDroppedItems(Cause cause, List<Entity> entities, List<Transact
             }
 
             Iterator<Entity> iterator =
-                event instanceof DropItemEvent.Destruct ? ((DropItemEvent.Destruct) event).getEntities().iterator()
-                                                        : ((DropItemEvent.Dispense) event).getEntities().iterator();
+                event == null ? entities.iterator()
+                              : event instanceof DropItemEvent.Destruct ? ((DropItemEvent.Destruct) event).getEntities().iterator()
+                                                                        : ((DropItemEvent.Dispense) event).getEntities().iterator();
             while (iterator.hasNext()) {
                 Entity entity = iterator.next();
                 boolean invalidSpawn = false;
@@ -1108,6 +1245,8 @@ public void handleDroppedItems(Cause cause, List<Entity> entities, List<Transact
     }
 
     private void handleEntitySpawns(Cause cause, List<Entity> entities, List<Transaction<BlockSnapshot>> invalidTransactions) {
+        final boolean hasListeners = SpongeImpl.hasListeners(this.worldSpawnerRunning ? SpawnEntityEvent.Spawner.class
+                : this.chunkSpawnerRunning ? SpawnEntityEvent.ChunkLoad.class : SpawnEntityEvent.class);
         Iterator<Entity> iter = entities.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -1126,27 +1265,31 @@ private void handleEntitySpawns(Cause cause, List<Entity> entities, List<Transac
                     ((IMixinEntity) currentEntity).trackEntityUniqueId(NbtDataUtil.SPONGE_ENTITY_CREATOR, owner.get().getUniqueId());
                 }
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         SpawnEntityEvent event = null;
 
-        if (this.worldSpawnerRunning) {
-            event =
-                    SpongeEventFactory.createSpawnEntityEventSpawner(cause, entities, entitySnapshotBuilder.build(),
-                                                                     (World) (Object) this);
-        } else if (this.chunkSpawnerRunning) {
-            event =
-                    SpongeEventFactory.createSpawnEntityEventChunkLoad(cause, entities, entitySnapshotBuilder.build(),
-                                                                       (World) (Object) this);
-        } else {
-            event =
-                    SpongeEventFactory
-                            .createSpawnEntityEvent(cause, entities, entitySnapshotBuilder.build(), (World) (Object) this);
+        if (hasListeners) {
+            if (this.worldSpawnerRunning) {
+                event =
+                        SpongeEventFactory.createSpawnEntityEventSpawner(cause, entities, entitySnapshotBuilder.build(),
+                                                                         (World) (Object) this);
+            } else if (this.chunkSpawnerRunning) {
+                event =
+                        SpongeEventFactory.createSpawnEntityEventChunkLoad(cause, entities, entitySnapshotBuilder.build(),
+                                                                           (World) (Object) this);
+            } else {
+                event =
+                        SpongeEventFactory
+                                .createSpawnEntityEvent(cause, entities, entitySnapshotBuilder.build(), (World) (Object) this);
+            }
         }
 
-        if (!(SpongeImpl.postEvent(event))) {
-            Iterator<Entity> iterator = event.getEntities().iterator();
+        if (event == null || !(SpongeImpl.postEvent(event))) {
+            Iterator<Entity> iterator = event == null ? entities.iterator() : event.getEntities().iterator();
             while (iterator.hasNext()) {
                 Entity entity = iterator.next();
                 boolean invalidSpawn = false;
@@ -1205,35 +1348,39 @@ public void markAndNotifyBlockPost(List<Transaction<BlockSnapshot>> transactions
             BlockPos pos = VecHelper.toBlockPos(oldBlockSnapshot.getPosition());
             IBlockState originalState = (IBlockState) oldBlockSnapshot.getState();
             IBlockState newState = (IBlockState) newBlockSnapshot.getState();
-            // Containers get placed automatically
-            if (newState != null && !SpongeImplHooks.blockHasTileEntity(newState.getBlock(), newState)) {
-                this.currentTickOnBlockAdded = this.createSpongeBlockSnapshot(newState, newState.getBlock().getActualState(newState, proxyBlockAccess, pos), pos, updateFlag);
-                newState.getBlock().onBlockAdded((net.minecraft.world.World) (Object) this, pos, newState);
-                if (this.capturedOnBlockAddedItems.size() > 0) {
-                    Cause blockCause = Cause.of(NamedCause.source(this.currentTickOnBlockAdded));
-                    if (this.captureTerrainGen) {
-                        net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
-                        if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
-                            blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
-                        }
+            notifyBlockAdded(pos, newState, updateFlag, proxyBlockAccess);
+            proxyBlockAccess.proceed();
+            markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
+        }
+    }
+
+    private void notifyBlockAdded(BlockPos pos, IBlockState newState, int updateFlag, IBlockAccess blockAccess) {
+        // Containers get placed automatically
+        if (newState != null && !SpongeImplHooks.blockHasTileEntity(newState.getBlock(), newState)) {
+            this.currentTickOnBlockAdded = this.createSpongeBlockSnapshot(newState, newState.getBlock().getActualState(newState, blockAccess, pos), pos, updateFlag);
+            newState.getBlock().onBlockAdded((net.minecraft.world.World) (Object) this, pos, newState);
+            if (this.capturedOnBlockAddedItems.size() > 0) {
+                Cause blockCause = Cause.of(NamedCause.source(this.currentTickOnBlockAdded));
+                if (this.captureTerrainGen) {
+                    net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
+                    if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
+                        blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
                     }
-                    handleDroppedItems(blockCause, this.capturedOnBlockAddedItems, null, getBlockState(pos) != newState);
                 }
-                if (this.capturedOnBlockAddedEntities.size() > 0) {
-                    Cause blockCause = Cause.of(this.currentTickOnBlockAdded);
-                    if (this.captureTerrainGen) {
-                        net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
-                        if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
-                            blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
-                        }
+                handleDroppedItems(blockCause, this.capturedOnBlockAddedItems, null, getBlockState(pos) != newState);
+            }
+            if (this.capturedOnBlockAddedEntities.size() > 0) {
+                Cause blockCause = Cause.of(this.currentTickOnBlockAdded);
+                if (this.captureTerrainGen) {
+                    net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
+                    if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
+                        blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
                     }
-                    handleEntitySpawns(blockCause, this.capturedOnBlockAddedEntities, null);
                 }
-
-                this.currentTickOnBlockAdded = null;
+                handleEntitySpawns(blockCause, this.capturedOnBlockAddedEntities, null);
             }
-            proxyBlockAccess.proceed();
-            markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
+
+            this.currentTickOnBlockAdded = null;
         }
     }
 
@@ -1261,7 +1408,7 @@ public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType) {
             return;
         }
 
-        if (this.nmsWorld.isRemote) {
+        if (this.nmsWorld.isRemote || !SpongeImpl.hasListeners(NotifyNeighborBlockEvent.class)) {
             for (EnumFacing facing : EnumFacing.values()) {
                 this.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
             }
@@ -1295,7 +1442,7 @@ public void notifyNeighborsOfStateExcept(BlockPos pos, Block blockType, EnumFaci
         EnumSet directions = EnumSet.allOf(EnumFacing.class);
         directions.remove(skipSide);
 
-        if (this.nmsWorld.isRemote) {
+        if (this.nmsWorld.isRemote || !SpongeImpl.hasListeners(NotifyNeighborBlockEvent.class)) {
             for (Object obj : directions) {
                 EnumFacing facing = (EnumFacing) obj;
                 this.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
@@ -1342,7 +1489,7 @@ public void notifyBlockOfStateChange(BlockPos notifyPos, final Block sourceBlock
                         Object source = null;
                         if (this.currentTickBlock != null) {
                             source = this.currentTickBlock;
-                            sourcePos = VecHelper.toBlockPos(this.currentTickBlock.getPosition());
+                            sourcePos = this.currentTickBlock.getPos();
                         } else if (this.currentTickOnBlockAdded != null) {
                             source = this.currentTickOnBlockAdded;
                             sourcePos = VecHelper.toBlockPos(this.currentTickOnBlockAdded.getPosition());
@@ -1425,7 +1572,33 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
 
     @Override
     public Optional<BlockSnapshot> getCurrentTickBlock() {
-        return Optional.ofNullable(this.currentTickBlock);
+        return this.currentTickBlock == null ? Optional.empty() : Optional.of(this.currentTickBlock.getSnapshot());
+    }
+
+    /**
+     * Starts capturing the changes caused by ticking the given block, which
+     * becomes the {@link #currentTickBlock}.
+     *
+     * @param pos The position of the block
+     * @param state The state of the block
+     * @param updateFlag The update flag of the source snapshot
+     * @return The tick source, to pass to {@link #endBlockTick}
+     */
+    public BlockTickSource startBlockTick(BlockPos pos, IBlockState state, int updateFlag) {
+        BlockTickSource source = this.tickSourcePool.poll();
+        if (source == null) {
+            source = new BlockTickSource(this.nmsWorld);
+        }
+        this.processingCaptureCause = true;
+        this.currentTickBlock = source.set(pos, state, updateFlag);
+        return source;
+    }
+
+    public void endBlockTick(BlockTickSource source) {
+        this.currentTickBlock = null;
+        this.processingCaptureCause = false;
+        source.clear();
+        this.tickSourcePool.push(source);
     }
 
     @Override
@@ -1510,7 +1683,14 @@ public void setProcessingCaptureCause(boolean flag) {
 
     @Override
     public void setCurrentTickBlock(BlockSnapshot snapshot) {
-        this.currentTickBlock = snapshot;
+        if (snapshot == null) {
+            this.currentTickBlock = null;
+            return;
+        }
+        if (this.snapshotTickSource == null) {
+            this.snapshotTickSource = new BlockTickSource(this.nmsWorld);
+        }
+        this.currentTickBlock = this.snapshotTickSource.set(snapshot);
     }
 
     @Shadow
@@ -1864,6 +2044,24 @@ public SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig() {
         return ((IMixinWorldInfo) this.worldInfo).getWorldConfig();
     }
 
+    @Override
+    public ConfigSnapshot getConfigSnapshot() {
+        final SpongeConfig<SpongeConfig.WorldConfig> worldConfig = getWorldConfig();
+        final SpongeConfig<SpongeConfig.DimensionConfig> dimensionConfig = ((IMixinWorldProvider) this.provider).getDimensionConfig();
+        ConfigSnapshot snapshot = this.configSnapshot;
+        if (snapshot == null || !snapshot.isValid(worldConfig, dimensionConfig)) {
+            snapshot = SpongeHooks.createConfigSnapshot(worldConfig, dimensionConfig);
+            this.configSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    @Override
+    public Collection<ScheduledBlockUpdate> getChunkScheduledUpdates(int chunkX, int chunkZ) {
+        // Only server worlds schedule block updates
+        return ImmutableList.of();
+    }
+
     @Override
     public void playSound(SoundType sound, Vector3d position, double volume) {
         this.playSound(sound, position, volume, 1);
@@ -2495,6 +2693,40 @@ public Map<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> g
         return this.capturedSpongePopulators;
     }
 
+    @Override
+    public BlockOwnerCache getBlockOwnerCache() {
+        return this.blockOwnerCache;
+    }
+
+    @Override
+    public Map<BlockPos, User> getBlockOwners(Iterable<BlockPos> positions) {
+        Map<BlockPos, User> owners = Maps.newHashMap();
+        Map<Integer, Optional<User>> resolved = Maps.newHashMap();
+        net.minecraft.world.chunk.Chunk chunk = null;
+        for (BlockPos pos : positions) {
+            if (chunk == null || chunk.xPosition != pos.getX() >> 4 || chunk.zPosition != pos.getZ() >> 4) {
+                if (!isBlockLoaded(pos)) {
+                    chunk = null;
+                    continue;
+                }
+                chunk = getChunkFromBlockCoords(pos);
+            }
+            int index = ((IMixinChunk) chunk).getBlockOwnerIndex(pos);
+            if (index == PlayerTrackerMap.NO_INDEX) {
+                continue;
+            }
+            Optional<User> owner = resolved.get(index);
+            if (owner == null) {
+                owner = this.blockOwnerCache.get(index);
+                resolved.put(index, owner);
+            }
+            if (owner.isPresent()) {
+                owners.put(pos, owner.get());
+            }
+        }
+        return owners;
+    }
+
     // For invisibility
     @Redirect(method = CHECK_NO_ENTITY_COLLISION, at = @At(value = "INVOKE", target = GET_ENTITIES_WITHIN_AABB))
     public List<net.minecraft.entity.Entity> filterInvisibile(net.minecraft.world.World world, net.minecraft.entity.Entity entityIn,
@@ -2510,6 +2742,31 @@ public List<net.minecraft.entity.Entity> filterInvisibile(net.minecraft.world.Wo
         return entities;
     }
 
+    // The collide event is raised once for the entities of all the chunks the query spans
+    @Inject(method = "getEntitiesInAABBexcluding", at = @At("RETURN"))
+    public void onGetEntitiesInAABBexcluding(net.minecraft.entity.Entity entityIn, AxisAlignedBB boundingBox,
+            com.google.common.base.Predicate<? super net.minecraft.entity.Entity> predicate, CallbackInfoReturnable<List<net.minecraft.entity.Entity>> cir) {
+        callCollideEntityEvent(entityIn, cir.getReturnValue());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Inject(method = GET_ENTITIES_OF_TYPE_WITHIN_AABB, at = @At("RETURN"))
+    public void onGetEntitiesWithinAABB(Class classEntity, AxisAlignedBB bb, com.google.common.base.Predicate filter,
+            CallbackInfoReturnable<List> cir) {
+        callCollideEntityEvent(null, cir.getReturnValue());
+    }
+
+    private void callCollideEntityEvent(@Nullable net.minecraft.entity.Entity sourceEntity, List<net.minecraft.entity.Entity> entities) {
+        if (this.isRemote || entities.isEmpty() || !SpongeImpl.hasListeners(CollideEntityEvent.class)) {
+            return;
+        }
+
+        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.nmsWorld, sourceEntity, entities);
+        if (event != null && event.isCancelled()) {
+            entities.clear();
+        }
+    }
+
     @Overwrite
     public EntityPlayer getClosestPlayer(double x, double y, double z, double distance) {
         double d4 = -1.0D;
@@ -25,17 +25,19 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.BlockPos;
-import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.NextTickListEntry;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.WorldSettings;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.block.ScheduledBlockUpdate;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
@@ -47,6 +49,7 @@
 import org.spongepowered.asm.mixin.Implements;
 import org.spongepowered.asm.mixin.Interface;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -59,8 +62,14 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockTickSource;
+import org.spongepowered.common.world.ScheduledUpdateIndex;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
@@ -77,6 +86,8 @@ public abstract class MixinWorldServer extends MixinWorld {
     @Shadow public abstract boolean fireBlockEvent(BlockEventData event);
     @Shadow private Set<NextTickListEntry> pendingTickListEntriesHashSet;
     @Shadow private TreeSet<NextTickListEntry> pendingTickListEntriesTreeSet;
+    @Shadow private List<NextTickListEntry> pendingTickListEntriesThisTick;
+    private final ScheduledUpdateIndex scheduledUpdateIndex = new ScheduledUpdateIndex();
 
     @Inject(method = "createSpawnPosition(Lnet/minecraft/world/WorldSettings;)V", at = @At("HEAD"), cancellable = true)
     public void onCreateSpawnPosition(WorldSettings settings, CallbackInfo ci) {
@@ -99,12 +110,10 @@ public void onUpdateBlocks(Block block, net.minecraft.world.World worldIn, Block
             return;
         }
 
-        this.processingCaptureCause = true;
-        this.currentTickBlock = createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, (IBlockAccess) this, pos), pos, 0);
+        BlockTickSource source = startBlockTick(pos, state, 0);
         block.randomTick(worldIn, pos, state, rand);
-        handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
-        this.currentTickBlock = null;
-        this.processingCaptureCause = false;
+        handlePostTickCaptures(source);
+        endBlockTick(source);
     }
 
     @Redirect(method = "updateBlockTick", at = @At(value = "INVOKE", target="Lnet/minecraft/block/Block;updateTick(Lnet/minecraft/world/World;Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/state/IBlockState;Ljava/util/Random;)V"))
@@ -114,12 +123,10 @@ public void onUpdateBlockTick(Block block, net.minecraft.world.World worldIn, Bl
             return;
         }
 
-        this.processingCaptureCause = true;
-        this.currentTickBlock = createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, (IBlockAccess) this, pos), pos, 0);
+        BlockTickSource source = startBlockTick(pos, state, 0);
         block.updateTick(worldIn, pos, state, rand);
-        handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
-        this.currentTickBlock = null;
-        this.processingCaptureCause = false;
+        handlePostTickCaptures(source);
+        endBlockTick(source);
     }
 
     @Redirect(method = "tickUpdates", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/Block;updateTick(Lnet/minecraft/world/World;Lnet/minecraft/util/BlockPos;"
@@ -130,12 +137,10 @@ public void onUpdateTick(Block block, net.minecraft.world.World worldIn, BlockPo
             return;
         }
 
-        this.processingCaptureCause = true;
-        this.currentTickBlock = createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, (IBlockAccess) this, pos), pos, 0);
+        BlockTickSource source = startBlockTick(pos, state, 0);
         block.updateTick(worldIn, pos, state, rand);
-        handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
-        this.currentTickBlock = null;
-        this.processingCaptureCause = false;
+        handlePostTickCaptures(source);
+        endBlockTick(source);
     }
 
     @Inject(method = "addBlockEvent", at = @At(value = "HEAD"))
@@ -157,7 +162,7 @@ public void onAddBlockEvent(BlockPos pos, Block blockIn, int eventID, int eventP
         } else {
             BlockPos sourcePos = null;
             if (this.currentTickBlock != null) {
-                sourcePos = VecHelper.toBlockPos(this.currentTickBlock.getPosition());
+                sourcePos = this.currentTickBlock.getPos();
             } else if (this.currentTickOnBlockAdded != null) {
                 sourcePos = VecHelper.toBlockPos(this.currentTickOnBlockAdded.getPosition());
             } else if (this.currentTickTileEntity != null) {
@@ -182,35 +187,129 @@ public void onAddBlockEvent(BlockPos pos, Block blockIn, int eventID, int eventP
     @Redirect(method = "sendQueuedBlockEvents", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;fireBlockEvent(Lnet/minecraft/block/BlockEventData;)Z"))
     public boolean onFireBlockEvent(net.minecraft.world.WorldServer worldIn, BlockEventData event) {
         IBlockState currentState = worldIn.getBlockState(event.getPosition());
-        this.processingCaptureCause = true;
-        this.currentTickBlock = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState, (IBlockAccess) this, event.getPosition()), event.getPosition(), 3);
-        Cause cause = Cause.of(NamedCause.source(this.currentTickBlock));
-        if (this.trackedBlockEvents.get(event.getPosition()) != null) {
-            User user = this.trackedBlockEvents.get(event.getPosition());
-            cause = cause.with(NamedCause.notifier(user));
+        BlockTickSource source = startBlockTick(event.getPosition(), currentState, 3);
+        User user = this.trackedBlockEvents.get(event.getPosition());
+        if (user != null) {
             StaticMixinHelper.blockEventUser = user;
         }
         boolean result = fireBlockEvent(event);
-        this.handlePostTickCaptures(cause);
+        if (hasTickCaptures()) {
+            Cause cause = Cause.of(NamedCause.source(source.getSnapshot()));
+            if (user != null) {
+                cause = cause.with(NamedCause.notifier(user));
+            }
+            this.handlePostTickCaptures(cause);
+        }
         StaticMixinHelper.blockEventUser = null;
-        this.currentTickBlock = null;
-        this.processingCaptureCause = false;
+        endBlockTick(source);
         this.trackedBlockEvents.remove(event.getPosition());
         return result;
     }
 
     @Override
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        BlockPos position = new BlockPos(x, y, z);
         ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
-        for (NextTickListEntry sbu : this.pendingTickListEntriesTreeSet) {
-            if (sbu.position.equals(position)) {
-                builder.add((ScheduledBlockUpdate) sbu);
-            }
+        for (NextTickListEntry sbu : this.scheduledUpdateIndex.get(new BlockPos(x, y, z))) {
+            builder.add((ScheduledBlockUpdate) sbu);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Collection<ScheduledBlockUpdate> getChunkScheduledUpdates(int chunkX, int chunkZ) {
+        List<NextTickListEntry> entries = this.scheduledUpdateIndex.getChunk(chunkX, chunkZ);
+        Collections.sort(entries);
+        ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
+        for (NextTickListEntry sbu : entries) {
+            builder.add((ScheduledBlockUpdate) sbu);
         }
         return builder.build();
     }
 
+    @Redirect(method = "updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
+            at = @At(value = "INVOKE", target = "Ljava/util/Set;add(Ljava/lang/Object;)Z"))
+    private boolean onAddPendingUpdate(Set<NextTickListEntry> pendingSet, Object entry) {
+        if (pendingSet.add((NextTickListEntry) entry)) {
+            this.scheduledUpdateIndex.add((NextTickListEntry) entry);
+            return true;
+        }
+        return false;
+    }
+
+    @Redirect(method = "scheduleBlockUpdate(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
+            at = @At(value = "INVOKE", target = "Ljava/util/Set;add(Ljava/lang/Object;)Z"))
+    private boolean onAddLoadedPendingUpdate(Set<NextTickListEntry> pendingSet, Object entry) {
+        return this.onAddPendingUpdate(pendingSet, entry);
+    }
+
+    @Redirect(method = "tickUpdates", at = @At(value = "INVOKE", target = "Ljava/util/Set;remove(Ljava/lang/Object;)Z"))
+    private boolean onRemovePendingUpdate(Set<NextTickListEntry> pendingSet, Object entry) {
+        if (pendingSet.remove(entry)) {
+            this.scheduledUpdateIndex.remove((NextTickListEntry) entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Purpose: Looks up the pending updates of the chunk in the scheduled
+     * update index instead of scanning every pending update of the world.
+     * The bounds match vanilla, which includes the two blocks on the negative
+     * side of the chunk.
+     */
+    @Overwrite
+    public List<NextTickListEntry> getPendingBlockUpdates(Chunk chunkIn, boolean remove) {
+        ChunkCoordIntPair chunkPos = chunkIn.getChunkCoordIntPair();
+        int minX = (chunkPos.chunkXPos << 4) - 2;
+        int maxX = minX + 16 + 2;
+        int minZ = (chunkPos.chunkZPos << 4) - 2;
+        int maxZ = minZ + 16 + 2;
+        List<NextTickListEntry> list = null;
+
+        List<NextTickListEntry> pending = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= (maxX - 1) >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= (maxZ - 1) >> 4; chunkZ++) {
+                for (NextTickListEntry entry : this.scheduledUpdateIndex.getChunk(chunkX, chunkZ)) {
+                    BlockPos pos = entry.position;
+                    if (pos.getX() >= minX && pos.getX() < maxX && pos.getZ() >= minZ && pos.getZ() < maxZ) {
+                        pending.add(entry);
+                    }
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            // Keep the order of the tree set, it decides the order of updates
+            // scheduled for the same tick when the chunk is loaded again
+            Collections.sort(pending);
+            if (remove) {
+                for (NextTickListEntry entry : pending) {
+                    this.pendingTickListEntriesHashSet.remove(entry);
+                    this.pendingTickListEntriesTreeSet.remove(entry);
+                    this.scheduledUpdateIndex.remove(entry);
+                }
+            }
+            list = pending;
+        }
+
+        Iterator<NextTickListEntry> iterator = this.pendingTickListEntriesThisTick.iterator();
+        while (iterator.hasNext()) {
+            NextTickListEntry entry = iterator.next();
+            BlockPos pos = entry.position;
+            if (pos.getX() >= minX && pos.getX() < maxX && pos.getZ() >= minZ && pos.getZ() < maxZ) {
+                if (remove) {
+                    this.pendingTickListEntriesHashSet.remove(entry);
+                    iterator.remove();
+                }
+                if (list == null) {
+                    list = Lists.newArrayList();
+                }
+                list.add(entry);
+            }
+        }
+
+        return list;
+    }
+
     private NextTickListEntry tmpScheduledObj;
 
     @Redirect(method = "updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
@@ -226,7 +325,7 @@ private void onCreateScheduledBlockUpdate(NextTickListEntry sbu, int priority) {
         ((IMixinBlockUpdate) sbu).setWorld((WorldServer) (Object) this);
         // Pistons, Beacons, Notes, Comparators etc. schedule block updates so we must track these positions
         if (this.currentTickBlock != null) {
-            BlockPos pos = VecHelper.toBlockPos(this.currentTickBlock.getPosition());
+            BlockPos pos = this.currentTickBlock.getPos();
             SpongeHooks.tryToTrackBlock((net.minecraft.world.World)(Object) this, this.currentTickBlock, pos, sbu.getBlock(), sbu.position, PlayerTracker.Type.NOTIFIER);
         }
 
@@ -245,8 +344,10 @@ public ScheduledBlockUpdate addScheduledUpdate(int x, int y, int z, int priority
     @Override
     public void removeScheduledUpdate(int x, int y, int z, ScheduledBlockUpdate update) {
         // Note: Ignores position argument
-        this.pendingTickListEntriesHashSet.remove(update);
-        this.pendingTickListEntriesTreeSet.remove(update);
+        if (this.pendingTickListEntriesHashSet.remove(update)) {
+            this.pendingTickListEntriesTreeSet.remove(update);
+            this.scheduledUpdateIndex.remove((NextTickListEntry) update);
+        }
     }
 
     @Redirect(method = "updateAllPlayersSleepingFlag()V", at = @At(value = "INVOKE",
@@ -24,65 +24,126 @@
  */
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
-import com.google.common.collect.Maps;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
 
 @Mixin(AnvilChunkLoader.class)
-public class MixinAnvilChunkLoader {
+public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
+
+    @Shadow @Final private File chunkSaveLocation;
+    @Shadow private Map<ChunkCoordIntPair, NBTTagCompound> chunksToRemove;
+
+    private final Map<Long, CompletableFuture<NBTTagCompound>> chunksReadAhead = new ConcurrentHashMap<>();
+
+    @Shadow protected abstract net.minecraft.world.chunk.Chunk checkedReadChunkFromNBT(World worldIn, int x, int z, NBTTagCompound compound);
+
+    @Nullable
+    @Override
+    public CompletableFuture<?> readChunkAhead(int x, int z, Executor executor) {
+        if (this.chunksToRemove.containsKey(new ChunkCoordIntPair(x, z))) {
+            // The region file is about to change, let the chunk be read when it is loaded
+            return null;
+        }
+        final CompletableFuture<NBTTagCompound> future = new CompletableFuture<>();
+        if (this.chunksReadAhead.putIfAbsent(ChunkCoordIntPair.chunkXZ2Int(x, z), future) != null) {
+            return null;
+        }
+        executor.execute(() -> {
+            if (future.isDone()) {
+                // Discarded before it was read
+                return;
+            }
+            // Region files are synchronized, and decompressing and parsing happens on the calling thread
+            try (DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z)) {
+                future.complete(stream == null ? null : CompressedStreamTools.read(stream));
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void discardChunkReadAhead(int x, int z, CompletableFuture<?> read) {
+        // Only removed if it is still the same read, a newer one belongs to someone else
+        if (this.chunksReadAhead.remove(ChunkCoordIntPair.chunkXZ2Int(x, z), read)) {
+            read.cancel(false);
+        }
+    }
+
+    @Override
+    public void clearChunksReadAhead() {
+        this.chunksReadAhead.values().forEach(future -> future.cancel(false));
+        this.chunksReadAhead.clear();
+    }
+
+    @Override
+    public boolean chunkExists(int x, int z) {
+        if (this.chunksToRemove.containsKey(new ChunkCoordIntPair(x, z))) {
+            return true;
+        }
+        // Only ask the region cache for existing files, it creates the ones it can't find
+        File regionFile = new File(new File(this.chunkSaveLocation, "region"), "r." + (x >> 5) + "." + (z >> 5) + ".mca");
+        return regionFile.exists() && RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, x, z).isChunkSaved(x & 31, z & 31);
+    }
+
+    @Inject(method = "loadChunk", at = @At("HEAD"), cancellable = true)
+    public void onLoadChunk(World worldIn, int x, int z, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> cir) {
+        CompletableFuture<NBTTagCompound> future = this.chunksReadAhead.remove(ChunkCoordIntPair.chunkXZ2Int(x, z));
+        if (future == null || this.chunksToRemove.containsKey(new ChunkCoordIntPair(x, z))) {
+            // Not read ahead, or changed since by a pending save
+            return;
+        }
+        NBTTagCompound compound;
+        try {
+            compound = future.join();
+        } catch (RuntimeException e) {
+            // Let Vanilla read the chunk again and handle the failure
+            return;
+        }
+        cir.setReturnValue(compound == null ? null : checkedReadChunkFromNBT(worldIn, x, z, compound));
+    }
 
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
         // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        if (!chunk.getTrackedShortPlayerPositions().isEmpty() || !chunk.getTrackedIntPlayerPositions().isEmpty()) {
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
-
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                if (ownerUniqueIdIndex != -1) {
-                    valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                }
-                if (notifierUniqueIdIndex != -1) {
-                    valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                }
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
+            if (!chunk.getTrackedShortPlayerPositions().isEmpty()) {
+                trackedNbt.setTag(NbtDataUtil.SPONGE_TRACKED_SHORT_POSITIONS, writeTrackedPositions(chunk.getTrackedShortPlayerPositions()));
             }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                if (ownerUniqueIdIndex != -1) {
-                    valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                }
-                if (notifierUniqueIdIndex != -1) {
-                    valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                }
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
+            if (!chunk.getTrackedIntPlayerPositions().isEmpty()) {
+                trackedNbt.setTag(NbtDataUtil.SPONGE_TRACKED_INT_POSITIONS, writeTrackedPositions(chunk.getTrackedIntPlayerPositions()));
             }
         }
     }
@@ -90,33 +151,71 @@ public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World wor
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX, int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            PlayerTrackerMap trackedIntPlayerPositions = new PlayerTrackerMap();
+            PlayerTrackerMap trackedShortPlayerPositions = new PlayerTrackerMap();
+            NBTTagCompound trackedNbt = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
             IMixinChunk chunk = (IMixinChunk) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
+            if (trackedNbt.hasKey(NbtDataUtil.SPONGE_BLOCK_POS_TABLE)) {
+                // Migrate data written as one compound per position, remove in future
+                NBTTagList positions = trackedNbt.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_COMPOUND);
+                for (int i = 0; i < positions.tagCount(); i++) {
+                    NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+                    int ownerIndex = PlayerTrackerMap.NO_INDEX;
+                    int notifierIndex = PlayerTrackerMap.NO_INDEX;
+                    if (valueNbt.hasKey("owner")) {
+                        ownerIndex = valueNbt.getInteger("owner");
+                    } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                        ownerIndex = valueNbt.getInteger("uuid");
+                    }
+                    if (valueNbt.hasKey("notifier")) {
+                        notifierIndex = valueNbt.getInteger("notifier");
+                    }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
+                    if (valueNbt.hasKey("pos")) {
+                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), ownerIndex, notifierIndex);
                     } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), ownerIndex, notifierIndex);
                     }
                 }
             }
+            readTrackedPositions(trackedNbt.getCompoundTag(NbtDataUtil.SPONGE_TRACKED_SHORT_POSITIONS), trackedShortPlayerPositions);
+            readTrackedPositions(trackedNbt.getCompoundTag(NbtDataUtil.SPONGE_TRACKED_INT_POSITIONS), trackedIntPlayerPositions);
             chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
             chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
         }
     }
+
+    private static NBTTagCompound writeTrackedPositions(PlayerTrackerMap trackedPositions) {
+        final int[] positions = new int[trackedPositions.size()];
+        final int[] owners = new int[positions.length];
+        final int[] notifiers = new int[positions.length];
+        trackedPositions.forEach(new PlayerTrackerMap.Visitor() {
+
+            private int index;
+
+            @Override
+            public void visit(int key, int ownerIndex, int notifierIndex) {
+                positions[this.index] = key;
+                owners[this.index] = ownerIndex;
+                notifiers[this.index++] = notifierIndex;
+            }
+        });
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS, positions);
+        compound.setIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS, owners);
+        compound.setIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS, notifiers);
+        return compound;
+    }
+
+    private static void readTrackedPositions(NBTTagCompound compound, PlayerTrackerMap trackedPositions) {
+        int[] positions = compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS);
+        int[] owners = compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS);
+        int[] notifiers = compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS);
+        if (owners.length != positions.length || notifiers.length != positions.length) {
+            return;
+        }
+        for (int i = 0; i < positions.length; i++) {
+            trackedPositions.put(positions[i], owners[i], notifiers[i]);
+        }
+    }
 }
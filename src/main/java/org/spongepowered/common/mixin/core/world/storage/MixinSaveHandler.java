@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.world.storage;
 
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.storage.SaveHandler;
@@ -40,6 +41,7 @@
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.IMixinSaveHandler;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.service.user.UserDiscoverer;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.world.DimensionManager;
 
@@ -91,6 +93,11 @@ public void onSaveWorldInfoEnd(WorldInfo worldInformation, CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "writePlayerData", at = @At("RETURN"))
+    public void onWritePlayerData(EntityPlayer player, CallbackInfo ci) {
+        UserDiscoverer.onPlayerDataSaved(((SaveHandler) (Object) this).playersDirectory, player.getUniqueID());
+    }
+
     @Override
     public void loadSpongeDatData(WorldInfo info) throws IOException {
         final File spongeFile = new File(this.worldDirectory, "level_sponge.dat");
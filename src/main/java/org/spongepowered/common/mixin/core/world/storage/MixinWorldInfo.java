@@ -638,6 +638,11 @@ public Optional<UUID> getUniqueIdForIndex(int index) {
         return Optional.ofNullable(this.playerUniqueIdMap.get(index));
     }
 
+    @Override
+    public Optional<Integer> getExistingIndexForUniqueId(UUID uuid) {
+        return Optional.ofNullable(this.playerUniqueIdMap.inverse().get(uuid));
+    }
+
     @Override
     public NBTTagCompound getSpongeRootLevelNbt() {
         writeSpongeNbt();
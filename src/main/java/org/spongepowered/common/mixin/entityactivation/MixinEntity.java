@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entityactivation;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.entity.IMixinEntityActivation;
+import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
+
+@Mixin(Entity.class)
+public abstract class MixinEntity implements IMixinEntityActivation {
+
+    private EntityActivationRange.ActivationType activationType;
+    private boolean defaultActivationState = true;
+    private long activatedTick = Integer.MIN_VALUE;
+
+    @Shadow private int fire;
+    @Shadow public int timeUntilPortal;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onEntityActivationInit(World world, CallbackInfo ci) {
+        Entity entity = (Entity) (Object) this;
+        this.activationType = EntityActivationRange.initializeEntityActivationType(entity);
+        this.defaultActivationState = EntityActivationRange.initializeEntityActivationState(entity, this.activationType);
+    }
+
+    @Override
+    public void inactiveTick() {
+        if (this.fire > 0) {
+            --this.fire;
+        }
+        if (this.timeUntilPortal > 0) {
+            --this.timeUntilPortal;
+        }
+    }
+
+    @Override
+    public EntityActivationRange.ActivationType getActivationType() {
+        return this.activationType;
+    }
+
+    @Override
+    public boolean getDefaultActivationState() {
+        return this.defaultActivationState;
+    }
+
+    @Override
+    public void setDefaultActivationState(boolean defaultState) {
+        this.defaultActivationState = defaultState;
+    }
+
+    @Override
+    public long getActivatedTick() {
+        return this.activatedTick;
+    }
+
+    @Override
+    public void setActivatedTick(long tick) {
+        this.activatedTick = tick;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entityactivation;
+
+import net.minecraft.entity.item.EntityItem;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+
+@Mixin(EntityItem.class)
+public abstract class MixinEntityItem extends MixinEntity {
+
+    // Matches the despawn age of EntityItem#onUpdate
+    private static final int DESPAWN_AGE = 6000;
+    // A pickup delay of this value never counts down
+    private static final int INFINITE_PICKUP_DELAY = 32767;
+
+    @Shadow private int age;
+    @Shadow private int delayBeforeCanPickup;
+
+    @Override
+    public void inactiveTick() {
+        super.inactiveTick();
+        if (this.delayBeforeCanPickup > 0 && this.delayBeforeCanPickup != INFINITE_PICKUP_DELAY) {
+            --this.delayBeforeCanPickup;
+        }
+        if (this.age != -32768) {
+            ++this.age;
+        }
+        if (this.age >= DESPAWN_AGE) {
+            ((EntityItem) (Object) this).setDead();
+        }
+    }
+
+}
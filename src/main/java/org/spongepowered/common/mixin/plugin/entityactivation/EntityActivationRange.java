@@ -0,0 +1,317 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import co.aikar.timings.SpongeTimings;
+import co.aikar.timings.TimingHistory;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.IProjectile;
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraft.entity.boss.EntityDragonPart;
+import net.minecraft.entity.boss.EntityWither;
+import net.minecraft.entity.effect.EntityWeatherEffect;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.monster.EntityCreeper;
+import net.minecraft.entity.monster.IMob;
+import net.minecraft.entity.passive.EntityAmbientCreature;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.passive.EntityVillager;
+import net.minecraft.entity.passive.EntityWaterMob;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.config.ConfigSnapshot;
+import org.spongepowered.common.interfaces.entity.IMixinEntityActivation;
+import org.spongepowered.common.util.SpongeHooks;
+
+/**
+ * Decides which entities of a world run their full update each tick.
+ *
+ * <p>Once per tick, the chunks around every player are visited and the
+ * entities within the activation range of their type are marked active for
+ * that tick. Entities that were not marked only update their timers, except
+ * once every 20 ticks, and stay active for a while when they are in a state
+ * that should not be interrupted, such as being attacked, moving or riding.
+ * </p>
+ */
+public final class EntityActivationRange {
+
+    public enum ActivationType {
+        MONSTER,
+        CREATURE,
+        AQUATIC,
+        AMBIENT,
+        MISC
+    }
+
+    private static final ActivationType[] ACTIVATION_TYPES = ActivationType.values();
+    // The squared horizontal speed above which an entity counts as moving
+    private static final double MOVING_SPEED_SQUARED = 0.01 * 0.01;
+    // Entities woken up stay active for this many ticks
+    private static final int WAKE_UP_TICKS = 20;
+
+    private EntityActivationRange() {
+    }
+
+    /**
+     * Gets the type of activation range that applies to the entity.
+     *
+     * @param entity The entity
+     * @return The activation type
+     */
+    public static ActivationType initializeEntityActivationType(Entity entity) {
+        if (entity instanceof IMob) {
+            return ActivationType.MONSTER;
+        } else if (entity instanceof EntityWaterMob) {
+            return ActivationType.AQUATIC;
+        } else if (entity instanceof EntityAmbientCreature) {
+            return ActivationType.AMBIENT;
+        } else if (entity instanceof EntityLiving) {
+            return ActivationType.CREATURE;
+        }
+        return ActivationType.MISC;
+    }
+
+    /**
+     * Checks whether the entity should always be active, regardless of the
+     * players around it and of the configured activation ranges.
+     *
+     * @param entity The entity
+     * @param type The activation type of the entity
+     * @return True if the entity is always active
+     */
+    public static boolean initializeEntityActivationState(Entity entity, ActivationType type) {
+        if (entity.worldObj == null || entity.worldObj.isRemote) {
+            return true;
+        }
+        if (entity instanceof EntityPlayer
+                || entity instanceof IProjectile
+                || entity instanceof EntityDragon
+                || entity instanceof EntityDragonPart
+                || entity instanceof EntityWither
+                || entity instanceof EntityFireball
+                || entity instanceof EntityWeatherEffect
+                || entity instanceof EntityTNTPrimed
+                || entity instanceof EntityEnderCrystal
+                || entity instanceof EntityFireworkRocket) {
+            return true;
+        }
+        return false;
+    }
+
+    private static ConfigSnapshot getConfig(World world) {
+        return SpongeHooks.getConfigSnapshot(world);
+    }
+
+    private static int getActivationRange(ConfigSnapshot config, ActivationType type) {
+        switch (type) {
+            case MONSTER:
+                return config.getMonsterActivationRange();
+            case CREATURE:
+                return config.getCreatureActivationRange();
+            case AQUATIC:
+                return config.getAquaticActivationRange();
+            case AMBIENT:
+                return config.getAmbientActivationRange();
+            default:
+                return config.getMiscActivationRange();
+        }
+    }
+
+    private static long getCurrentTick() {
+        return MinecraftServer.getServer().getTickCounter();
+    }
+
+    /**
+     * Marks the entities within range of the players of the world active
+     * for the current tick. Only the chunks around players are visited.
+     *
+     * @param world The world
+     */
+    public static void activateEntities(World world) {
+        SpongeTimings.entityActivationCheckTimer.startTiming();
+        final ConfigSnapshot config = getConfig(world);
+        final int[] ranges = new int[ACTIVATION_TYPES.length];
+        int maxRange = 0;
+        for (ActivationType type : ACTIVATION_TYPES) {
+            ranges[type.ordinal()] = getActivationRange(config, type);
+            maxRange = Math.max(maxRange, ranges[type.ordinal()]);
+        }
+        final long currentTick = getCurrentTick();
+        final AxisAlignedBB[] boxes = new AxisAlignedBB[ACTIVATION_TYPES.length];
+
+        for (EntityPlayer player : world.playerEntities) {
+            ((IMixinEntityActivation) player).setActivatedTick(currentTick);
+            final AxisAlignedBB playerBox = player.getEntityBoundingBox();
+            for (int i = 0; i < boxes.length; i++) {
+                boxes[i] = playerBox.expand(ranges[i], 256, ranges[i]);
+            }
+            final AxisAlignedBB maxBox = playerBox.expand(maxRange, 256, maxRange);
+            final int minChunkX = MathHelper.floor_double(maxBox.minX / 16.0D);
+            final int maxChunkX = MathHelper.floor_double(maxBox.maxX / 16.0D);
+            final int minChunkZ = MathHelper.floor_double(maxBox.minZ / 16.0D);
+            final int maxChunkZ = MathHelper.floor_double(maxBox.maxZ / 16.0D);
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    if (world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                        activateChunkEntities(world.getChunkFromChunkCoords(chunkX, chunkZ), ranges, boxes, currentTick);
+                    }
+                }
+            }
+        }
+        SpongeTimings.entityActivationCheckTimer.stopTiming();
+    }
+
+    private static void activateChunkEntities(Chunk chunk, int[] ranges, AxisAlignedBB[] boxes, long currentTick) {
+        for (ClassInheritanceMultiMap<Entity> entities : chunk.getEntityLists()) {
+            for (Entity entity : entities) {
+                final IMixinEntityActivation spongeEntity = (IMixinEntityActivation) entity;
+                if (currentTick <= spongeEntity.getActivatedTick()) {
+                    continue;
+                }
+                final int type = spongeEntity.getActivationType().ordinal();
+                if (spongeEntity.getDefaultActivationState() || ranges[type] <= 0
+                        || boxes[type].intersectsWith(entity.getEntityBoundingBox())) {
+                    spongeEntity.setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the entity active for a while, such as after it was attacked.
+     *
+     * @param entity The entity
+     */
+    public static void wakeUp(Entity entity) {
+        final IMixinEntityActivation spongeEntity = (IMixinEntityActivation) entity;
+        spongeEntity.setActivatedTick(Math.max(spongeEntity.getActivatedTick(), getCurrentTick() + WAKE_UP_TICKS));
+    }
+
+    /**
+     * Checks whether the entity is in a state that should not be interrupted
+     * by it becoming inactive.
+     *
+     * @param entity The entity
+     * @return True if the entity should stay active
+     */
+    public static boolean checkEntityImmunities(Entity entity) {
+        if (entity.isInWater() || entity.isBurning()) {
+            return true;
+        }
+        if (!entity.onGround || entity.ridingEntity != null || entity.riddenByEntity != null) {
+            return true;
+        }
+        if (entity.motionX * entity.motionX + entity.motionZ * entity.motionZ > MOVING_SPEED_SQUARED) {
+            return true;
+        }
+        if (entity instanceof EntityLivingBase) {
+            final EntityLivingBase living = (EntityLivingBase) entity;
+            if (living.hurtTime > 0 || !living.getActivePotionEffects().isEmpty()) {
+                return true;
+            }
+            if (entity instanceof EntityLiving) {
+                final EntityLiving entityLiving = (EntityLiving) entity;
+                if (entityLiving.getAttackTarget() != null || !entityLiving.getNavigator().noPath()) {
+                    return true;
+                }
+            }
+            if (entity instanceof EntityVillager && ((EntityVillager) entity).isMating()) {
+                return true;
+            }
+            if (entity instanceof EntityAnimal) {
+                final EntityAnimal animal = (EntityAnimal) entity;
+                if (animal.isChild() || animal.isInLove()) {
+                    return true;
+                }
+            }
+            if (entity instanceof EntityCreeper && ((EntityCreeper) entity).hasIgnited()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the entity should run its full update this tick.
+     *
+     * @param entity The entity
+     * @return True if the entity is active
+     */
+    public static boolean checkIfActive(Entity entity) {
+        // Entities not yet in a chunk were not seen by the activation pass
+        if (!entity.addedToChunk || entity.ridingEntity != null || entity.riddenByEntity != null) {
+            return true;
+        }
+        final IMixinEntityActivation spongeEntity = (IMixinEntityActivation) entity;
+        if (spongeEntity.getDefaultActivationState()) {
+            return true;
+        }
+        // Read from the current config, so a reload applies to existing entities
+        if (getActivationRange(getConfig(entity.worldObj), spongeEntity.getActivationType()) <= 0) {
+            return true;
+        }
+
+        SpongeTimings.checkIfActiveTimer.startTiming();
+        final long currentTick = getCurrentTick();
+        boolean isActive = spongeEntity.getActivatedTick() >= currentTick;
+        // Let inactive entities update once every 20 ticks, and keep those
+        // which should not be interrupted active for a while
+        if (!isActive && (currentTick - spongeEntity.getActivatedTick() - 1) % WAKE_UP_TICKS == 0) {
+            if (checkEntityImmunities(entity)) {
+                spongeEntity.setActivatedTick(currentTick + WAKE_UP_TICKS);
+            }
+            isActive = true;
+        }
+        SpongeTimings.checkIfActiveTimer.stopTiming();
+        return isActive;
+    }
+
+    /**
+     * Runs the reduced update of an inactive entity, in place of its full
+     * update. The ticks the entity existed were already counted.
+     *
+     * @param entity The entity
+     */
+    public static void inactiveTick(Entity entity) {
+        SpongeTimings.inactiveTickEntityTimer.startTiming();
+        ((IMixinEntityActivation) entity).inactiveTick();
+        // Counted as an activated tick before the update was skipped
+        TimingHistory.activatedEntityTicks--;
+        TimingHistory.inactiveEntityTicks++;
+        SpongeTimings.inactiveTickEntityTimer.stopTiming();
+    }
+
+}
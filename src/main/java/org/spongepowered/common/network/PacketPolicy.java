@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The state captured before an incoming player packet is processed. Each
+ * packet class is given a policy by {@link PacketUtil}, so frequent packets
+ * such as movement do not pay for snapshots they never use.
+ */
+public enum PacketPolicy {
+
+    /**
+     * Packets that never change the world or an inventory, processed
+     * without capturing anything.
+     */
+    NONE(false, false, false),
+    /**
+     * Packets that may change the world but not an inventory, such as
+     * movement.
+     */
+    CAPTURE(true, false, false),
+    /**
+     * Packets that may change an inventory, also capturing the open
+     * container and the cursor.
+     */
+    INVENTORY(true, true, false),
+    /**
+     * Packets that use the held item, also capturing a copy of it.
+     */
+    HELD_ITEM(true, true, true);
+
+    final boolean capture;
+    final boolean inventory;
+    final boolean heldItem;
+    private final LongAdder processed = new LongAdder();
+
+    PacketPolicy(boolean capture, boolean inventory, boolean heldItem) {
+        this.capture = capture;
+        this.inventory = inventory;
+        this.heldItem = heldItem;
+    }
+
+    void onProcessed() {
+        this.processed.increment();
+    }
+
+    /**
+     * Gets the number of packets processed with this policy.
+     *
+     * @return The number of processed packets
+     */
+    public long getProcessedPackets() {
+        return this.processed.sum();
+    }
+}
@@ -30,11 +30,29 @@
 import net.minecraft.network.INetHandler;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.Packet;
+import net.minecraft.network.play.client.C00PacketKeepAlive;
+import net.minecraft.network.play.client.C01PacketChatMessage;
+import net.minecraft.network.play.client.C02PacketUseEntity;
+import net.minecraft.network.play.client.C03PacketPlayer;
 import net.minecraft.network.play.client.C07PacketPlayerDigging;
 import net.minecraft.network.play.client.C08PacketPlayerBlockPlacement;
+import net.minecraft.network.play.client.C09PacketHeldItemChange;
+import net.minecraft.network.play.client.C0APacketAnimation;
+import net.minecraft.network.play.client.C0BPacketEntityAction;
+import net.minecraft.network.play.client.C0CPacketInput;
+import net.minecraft.network.play.client.C0DPacketCloseWindow;
+import net.minecraft.network.play.client.C0EPacketClickWindow;
+import net.minecraft.network.play.client.C0FPacketConfirmTransaction;
 import net.minecraft.network.play.client.C10PacketCreativeInventoryAction;
+import net.minecraft.network.play.client.C11PacketEnchantItem;
 import net.minecraft.network.play.client.C12PacketUpdateSign;
+import net.minecraft.network.play.client.C13PacketPlayerAbilities;
+import net.minecraft.network.play.client.C14PacketTabComplete;
+import net.minecraft.network.play.client.C15PacketClientSettings;
 import net.minecraft.network.play.client.C16PacketClientStatus;
+import net.minecraft.network.play.client.C17PacketCustomPayload;
+import net.minecraft.network.play.client.C18PacketSpectate;
+import net.minecraft.network.play.client.C19PacketResourcePackStatus;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntitySign;
 import net.minecraft.util.ChatComponentText;
@@ -48,10 +66,57 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 public class PacketUtil {
 
+    // Packets of other classes, such as those added by mods, capture everything
+    // but the held item like every packet used to.
+    private static final Map<Class<?>, PacketPolicy> packetPolicies = new IdentityHashMap<>();
+
+    static {
+        packetPolicies.put(C00PacketKeepAlive.class, PacketPolicy.NONE);
+        packetPolicies.put(C01PacketChatMessage.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C02PacketUseEntity.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C03PacketPlayer.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C03PacketPlayer.C04PacketPlayerPosition.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C03PacketPlayer.C05PacketPlayerLook.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C03PacketPlayer.C06PacketPlayerPosLook.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C07PacketPlayerDigging.class, PacketPolicy.HELD_ITEM);
+        packetPolicies.put(C08PacketPlayerBlockPlacement.class, PacketPolicy.HELD_ITEM);
+        packetPolicies.put(C09PacketHeldItemChange.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C0APacketAnimation.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C0BPacketEntityAction.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C0CPacketInput.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C0DPacketCloseWindow.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C0EPacketClickWindow.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C0FPacketConfirmTransaction.class, PacketPolicy.NONE);
+        packetPolicies.put(C10PacketCreativeInventoryAction.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C11PacketEnchantItem.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C12PacketUpdateSign.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C13PacketPlayerAbilities.class, PacketPolicy.NONE);
+        packetPolicies.put(C14PacketTabComplete.class, PacketPolicy.NONE);
+        packetPolicies.put(C15PacketClientSettings.class, PacketPolicy.NONE);
+        packetPolicies.put(C16PacketClientStatus.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C17PacketCustomPayload.class, PacketPolicy.INVENTORY);
+        packetPolicies.put(C18PacketSpectate.class, PacketPolicy.CAPTURE);
+        packetPolicies.put(C19PacketResourcePackStatus.class, PacketPolicy.NONE);
+    }
+
+    public static PacketPolicy getPacketPolicy(Packet packet) {
+        PacketPolicy policy = packetPolicies.get(packet.getClass());
+        return policy == null ? PacketPolicy.INVENTORY : policy;
+    }
+
     public static void onProcessPacket(Packet packetIn, INetHandler netHandler) {
         if (netHandler instanceof NetHandlerPlayServer) {
+            PacketPolicy policy = getPacketPolicy(packetIn);
+            policy.onProcessed();
+            if (!policy.capture) {
+                packetIn.processPacket(netHandler);
+                return;
+            }
             StaticMixinHelper.processingPacket = packetIn;
             StaticMixinHelper.packetPlayer = ((NetHandlerPlayServer) netHandler).playerEntity;
 
@@ -90,15 +155,17 @@ public static void onProcessPacket(Packet packetIn, INetHandler netHandler) {
             }*/
 
             //System.out.println("RECEIVED PACKET " + packetIn);
-            StaticMixinHelper.lastOpenContainer = StaticMixinHelper.packetPlayer.openContainer;
-            ItemStackSnapshot cursor = StaticMixinHelper.packetPlayer.inventory.getItemStack() == null ? ItemStackSnapshot.NONE
-                                                                                                       : ((org.spongepowered.api.item.inventory.ItemStack) StaticMixinHelper.packetPlayer.inventory
-                                                                                                               .getItemStack()).createSnapshot();
-            StaticMixinHelper.lastCursor = cursor;
+            // The inventory events are only handled when the open container was captured
+            if (policy.inventory) {
+                StaticMixinHelper.lastOpenContainer = StaticMixinHelper.packetPlayer.openContainer;
+                ItemStackSnapshot cursor = StaticMixinHelper.packetPlayer.inventory.getItemStack() == null ? ItemStackSnapshot.NONE
+                                                                                                           : ((org.spongepowered.api.item.inventory.ItemStack) StaticMixinHelper.packetPlayer.inventory
+                                                                                                                   .getItemStack()).createSnapshot();
+                StaticMixinHelper.lastCursor = cursor;
+            }
 
             IMixinWorld world = (IMixinWorld) StaticMixinHelper.packetPlayer.worldObj;
-            if (StaticMixinHelper.packetPlayer.getHeldItem() != null
-                && (packetIn instanceof C07PacketPlayerDigging || packetIn instanceof C08PacketPlayerBlockPlacement)) {
+            if (policy.heldItem && StaticMixinHelper.packetPlayer.getHeldItem() != null) {
                 StaticMixinHelper.prePacketProcessItem = ItemStack.copyItemStack(StaticMixinHelper.packetPlayer.getHeldItem());
             }
 
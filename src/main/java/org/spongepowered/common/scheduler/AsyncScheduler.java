@@ -24,27 +24,37 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
 
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.Nullable;
+
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The thread pooling executor of asynchronous tasks, created from the
+    // config the first time it is needed.
+    @Nullable private volatile ExecutorService executor;
+    // The queues limiting the concurrency of each plugin, by plugin id.
+    private final ConcurrentMap<String, AsyncTaskQueue> pluginQueues = new ConcurrentHashMap<>();
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -56,52 +66,42 @@ public class AsyncScheduler extends SchedulerBase {
     }
 
     ExecutorService getExecutor() {
-        return this.executor;
+        ExecutorService executor = this.executor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.executor;
+                if (executor == null) {
+                    this.executor = executor = createExecutor(getConfig().getAsyncThreads());
+                }
+            }
+        }
+        return executor;
     }
 
-    private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
-        while (true) {
-            recalibrateMinimumTimeout();
-            this.runTick();
-        }
+    AsyncTaskQueue getQueue(PluginContainer plugin) {
+        return this.pluginQueues.computeIfAbsent(plugin.getId(), id -> {
+            SpongeConfig.SchedulerCategory config = getConfig();
+            return new AsyncTaskQueue(plugin, this.getExecutor(), config.getPluginAsyncConcurrency(), config.getPluginAsyncQueueLimit());
+        });
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
+    private static SpongeConfig.SchedulerCategory getConfig() {
+        return SpongeImpl.getGlobalConfig().getConfig().getScheduler();
+    }
 
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
+    private static ExecutorService createExecutor(int threads) {
+        if (threads <= 0) {
+            return Executors.newCachedThreadPool(new AsyncThreadFactory());
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new AsyncThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void mainLoop() {
+        while (true) {
+            this.runTick();
         }
     }
 
@@ -109,7 +109,13 @@ private void recalibrateMinimumTimeout() {
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            // Tasks are only added while holding the lock, so none can be
+            // added unnoticed between polling them and waiting.
+            this.pollPendingTasks();
+            long timeout = this.getTimeUntilNextTask();
+            if (timeout > 0) {
+                this.condition.await(timeout, TimeUnit.NANOSECONDS);
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -118,19 +124,28 @@ protected void preTick() {
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
     @Override
     protected void finallyPostTick() {
         this.lock.unlock();
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        try {
+            this.getQueue(task.getOwner()).execute(runnable);
+        } catch (RejectedExecutionException e) {
+            if (task.period > 0L) {
+                // Only skip this run of a repeating task, it runs again after its interval
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                return;
+            }
+            // Fail the task instead of silently dropping it, so futures waiting for it complete
+            task.cancel();
+            final Future<?> future = task.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
     }
 
     @Override
@@ -144,4 +159,16 @@ protected void addTask(ScheduledTask task) {
         }
     }
 
+    private static final class AsyncThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Sponge Async Worker " + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An asynchronous {@link TaskExecutorService} exposing the metrics of the
+ * task queue of its plugin.
+ */
+class AsyncTaskExecutorService extends TaskExecutorService implements AsyncTaskMetrics {
+
+    private final AsyncTaskMetrics metrics;
+
+    AsyncTaskExecutorService(Supplier<Task.Builder> taskBuilderProvider, SchedulerBase scheduler, PluginContainer plugin,
+            AsyncTaskMetrics metrics) {
+        super(taskBuilderProvider, scheduler, plugin);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int getQueuedTasks() {
+        return this.metrics.getQueuedTasks();
+    }
+
+    @Override
+    public int getRunningTasks() {
+        return this.metrics.getRunningTasks();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return this.metrics.getCompletedTasks();
+    }
+
+    @Override
+    public long getRejectedTasks() {
+        return this.metrics.getRejectedTasks();
+    }
+
+    @Override
+    public long getAverageQueueLatency(TimeUnit unit) {
+        return this.metrics.getAverageQueueLatency(unit);
+    }
+
+    @Override
+    public long getMaxQueueLatency(TimeUnit unit) {
+        return this.metrics.getMaxQueueLatency(unit);
+    }
+
+}
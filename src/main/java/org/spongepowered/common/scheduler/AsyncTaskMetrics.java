@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics about the asynchronous tasks of a single plugin. The
+ * {@link org.spongepowered.api.scheduler.SpongeExecutorService}s created for
+ * asynchronous execution implement this interface.
+ */
+public interface AsyncTaskMetrics {
+
+    /**
+     * Gets the number of tasks waiting for a thread to run on.
+     *
+     * @return The number of queued tasks
+     */
+    int getQueuedTasks();
+
+    /**
+     * Gets the number of tasks currently running.
+     *
+     * @return The number of running tasks
+     */
+    int getRunningTasks();
+
+    /**
+     * Gets the number of tasks that finished running.
+     *
+     * @return The number of completed tasks
+     */
+    long getCompletedTasks();
+
+    /**
+     * Gets the number of tasks that were dropped because the queue of the
+     * plugin was full.
+     *
+     * @return The number of rejected tasks
+     */
+    long getRejectedTasks();
+
+    /**
+     * Gets the average time tasks waited for a thread to run on.
+     *
+     * @param unit The time unit to return
+     * @return The average queue latency
+     */
+    long getAverageQueueLatency(TimeUnit unit);
+
+    /**
+     * Gets the longest time a task waited for a thread to run on.
+     *
+     * @param unit The time unit to return
+     * @return The maximum queue latency
+     */
+    long getMaxQueueLatency(TimeUnit unit);
+
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The queue of the asynchronous tasks of a single plugin, which hands them to
+ * the shared executor while limiting how many of them run at the same time so
+ * a single plugin can't occupy every thread.
+ */
+final class AsyncTaskQueue implements AsyncTaskMetrics {
+
+    private final PluginContainer plugin;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final int queueLimit;
+    private final Queue<QueuedTask> queue = new ArrayDeque<>();
+    private int running;
+    private long completed;
+    private long rejected;
+    private long totalLatency;
+    private long maxLatency;
+    private boolean warnedFull;
+
+    AsyncTaskQueue(PluginContainer plugin, Executor executor, int maxConcurrency, int queueLimit) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency <= 0 ? Integer.MAX_VALUE : maxConcurrency;
+        this.queueLimit = queueLimit <= 0 ? Integer.MAX_VALUE : queueLimit;
+    }
+
+    /**
+     * Queues a task to run once the plugin has a free slot.
+     *
+     * @param runnable The task to run
+     * @throws RejectedExecutionException If the queue of the plugin is full
+     */
+    synchronized void execute(Runnable runnable) {
+        if (this.queue.size() >= this.queueLimit) {
+            this.rejected++;
+            if (!this.warnedFull) {
+                this.warnedFull = true;
+                SpongeImpl.getLogger().warn("The async task queue of {} is full, further tasks are rejected until it drains.", this.plugin.getId());
+            }
+            throw new RejectedExecutionException("The async task queue of " + this.plugin.getId() + " is full");
+        }
+        this.queue.add(new QueuedTask(runnable, System.nanoTime()));
+        this.drain();
+    }
+
+    private void drain() {
+        while (this.running < this.maxConcurrency && !this.queue.isEmpty()) {
+            final QueuedTask task = this.queue.poll();
+            this.running++;
+            this.executor.execute(() -> this.run(task));
+        }
+        if (this.queue.isEmpty()) {
+            this.warnedFull = false;
+        }
+    }
+
+    private void run(QueuedTask task) {
+        final long latency = System.nanoTime() - task.queuedAt;
+        synchronized (this) {
+            this.totalLatency += latency;
+            this.maxLatency = Math.max(this.maxLatency, latency);
+        }
+        try {
+            task.runnable.run();
+        } finally {
+            synchronized (this) {
+                this.running--;
+                this.completed++;
+                this.drain();
+            }
+        }
+    }
+
+    @Override
+    public synchronized int getQueuedTasks() {
+        return this.queue.size();
+    }
+
+    @Override
+    public synchronized int getRunningTasks() {
+        return this.running;
+    }
+
+    @Override
+    public synchronized long getCompletedTasks() {
+        return this.completed;
+    }
+
+    @Override
+    public synchronized long getRejectedTasks() {
+        return this.rejected;
+    }
+
+    @Override
+    public synchronized long getAverageQueueLatency(TimeUnit unit) {
+        final long started = this.completed + this.running;
+        return started == 0 ? 0 : unit.convert(this.totalLatency / started, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized long getMaxQueueLatency(TimeUnit unit) {
+        return unit.convert(this.maxLatency, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class QueuedTask {
+
+        final Runnable runnable;
+        final long queuedAt;
+
+        QueuedTask(Runnable runnable, long queuedAt) {
+            this.runnable = runnable;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+}
@@ -29,8 +29,11 @@
 import org.spongepowered.api.scheduler.Task;
 
 import java.util.UUID;
-import java.util.function.Consumer;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
 
 /**
  * An internal representation of a {@link Task} created by a plugin.
@@ -49,6 +52,12 @@ public class ScheduledTask implements Task {
     private final String name;
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    // The timestamp the task is queued to be processed at by its scheduler
+    long dueTimestamp;
+    @Nullable SchedulerBase scheduler;
+    // The future of the task if it was submitted through an executor service,
+    // which has to be cancelled as well if the task can't be run
+    @Nullable volatile Future<?> future;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -130,6 +139,9 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        if (this.scheduler != null) {
+            this.scheduler.cancelTask(this);
+        }
         return success;
     }
 
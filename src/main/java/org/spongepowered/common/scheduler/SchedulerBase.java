@@ -30,15 +30,31 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 abstract class SchedulerBase {
 
+    private static final Comparator<ScheduledTask> DUE_ORDER = (a, b) -> Long.compare(a.dueTimestamp, b.dueTimestamp);
+
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks added or cancelled since the last tick, these may be queued from any thread
+    private final Queue<ScheduledTask> addedTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<ScheduledTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+    // The pending tasks ordered by the timestamp they are due at, one queue for
+    // each kind of timestamp. These are only accessed while ticking.
+    private final PriorityQueue<ScheduledTask> tickQueue = new PriorityQueue<>(DUE_ORDER);
+    private final PriorityQueue<ScheduledTask> timeQueue = new PriorityQueue<>(DUE_ORDER);
+    private final List<ScheduledTask> processedTasks = new ArrayList<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -65,15 +81,28 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets whether the timestamp of the task is counted in ticks rather than
+     * in nanoseconds.
+     *
+     * @param task The task
+     * @return True if the timestamp of the task is counted in ticks
+     */
+    protected boolean isTickTimestamp(ScheduledTask task) {
+        return false;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
-     * next call to {@link #runTick}.
+     * next call to {@link #runTick} it is due at.
      *
      * @param task The task to add
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.scheduler = this;
         this.taskMap.put(task.getUniqueId(), task);
+        this.addedTasks.add(task);
     }
 
     /**
@@ -85,6 +114,18 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    /**
+     * Removes the cancelled task from the task map, and from the queue of
+     * pending tasks on the next tick.
+     *
+     * @param task The cancelled task
+     */
+    void cancelTask(ScheduledTask task) {
+        if (this.taskMap.remove(task.getUniqueId()) != null) {
+            this.cancelledTasks.add(task);
+        }
+    }
+
     protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
@@ -96,18 +137,80 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that are due.
      */
     protected final void runTick() {
         this.preTick();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.pollPendingTasks();
+            this.processDueTasks(this.tickQueue);
+            this.processDueTasks(this.timeQueue);
             this.postTick();
         } finally {
             this.finallyPostTick();
         }
     }
 
+    /**
+     * Moves the tasks added and cancelled since the last tick into or out of
+     * the queues of pending tasks. This must only be called while ticking.
+     */
+    protected final void pollPendingTasks() {
+        ScheduledTask task;
+        while ((task = this.addedTasks.poll()) != null) {
+            this.queueTask(task);
+        }
+        while ((task = this.cancelledTasks.poll()) != null) {
+            if (!this.tickQueue.remove(task)) {
+                this.timeQueue.remove(task);
+            }
+        }
+    }
+
+    /**
+     * Gets the time in nanoseconds until the next task of the nanosecond
+     * based queue is due. This must only be called while ticking.
+     *
+     * @return The time until the next task is due, or {@link Long#MAX_VALUE}
+     *     if no task is pending
+     */
+    protected final long getTimeUntilNextTask() {
+        final ScheduledTask task = this.timeQueue.peek();
+        if (task == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0L, task.dueTimestamp - System.nanoTime());
+    }
+
+    private void queueTask(ScheduledTask task) {
+        task.dueTimestamp = task.nextExecutionTimestamp();
+        if (this.isTickTimestamp(task)) {
+            this.tickQueue.add(task);
+        } else {
+            this.timeQueue.add(task);
+        }
+    }
+
+    private void processDueTasks(PriorityQueue<ScheduledTask> queue) {
+        ScheduledTask task;
+        while ((task = queue.peek()) != null) {
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED && task.dueTimestamp > this.getTimestamp(task)) {
+                break;
+            }
+            queue.poll();
+            this.processTask(task);
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED && this.taskMap.get(task.getUniqueId()) == task) {
+                // Requeued after all due tasks were processed, a task that could
+                // not be started yet must not be processed twice in one tick
+                this.processedTasks.add(task);
+            }
+        }
+        for (ScheduledTask processed : this.processedTasks) {
+            this.queueTask(processed);
+        }
+        this.processedTasks.clear();
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -171,7 +274,7 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(() -> {
+        this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
             try {
                 task.getConsumer().accept(task);
@@ -185,8 +288,9 @@ protected void startTask(final ScheduledTask task) {
     /**
      * Actually run the runnable that will begin the task
      *
+     * @param task The task the runnable belongs to
      * @param runnable The runnable to run
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
@@ -138,7 +138,9 @@ public SpongeExecutorService createSyncExecutor(Object plugin) {
 
     @Override
     public SpongeExecutorService createAsyncExecutor(Object plugin) {
-        return new TaskExecutorService(() -> createTaskBuilder().async(), this.asyncScheduler, checkPluginInstance(plugin));
+        PluginContainer pluginContainer = checkPluginInstance(plugin);
+        return new AsyncTaskExecutorService(() -> createTaskBuilder().async(), this.asyncScheduler, pluginContainer,
+                this.asyncScheduler.getQueue(pluginContainer));
     }
 
     /**
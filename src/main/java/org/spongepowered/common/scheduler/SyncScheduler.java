@@ -62,7 +62,12 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected boolean isTickTimestamp(ScheduledTask task) {
+        return task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+    }
+
+    @Override
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
     }
 
@@ -35,6 +35,7 @@
 import java.util.concurrent.Callable;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -88,7 +89,11 @@ public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedE
 
     @Override
     public void execute(Runnable command) {
-        this.createTask(command).submit(this.plugin);
+        final Task task = this.createTask(command).submit(this.plugin);
+        if (command instanceof Future) {
+            // Submitted through submit, invokeAll or invokeAny
+            bindFuture(task, (Future<?>) command);
+        }
     }
 
     @Override
@@ -99,7 +104,7 @@ public SpongeFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
                 .delay(delay, unit)
                 .submit(this.plugin);
 
-        return new SpongeTaskFuture<>(runnable, (ScheduledTask) task, this.scheduler);
+        return this.createFuture(runnable, task);
     }
 
     @Override
@@ -110,7 +115,7 @@ public <V> SpongeFuture<V> schedule(Callable<V> callable, long delay, TimeUnit u
                 .delay(delay, unit)
                 .submit(this.plugin);
 
-        return new SpongeTaskFuture<>(runnable, (ScheduledTask) task, this.scheduler);
+        return this.createFuture(runnable, task);
     }
 
     @Override
@@ -125,7 +130,7 @@ public SpongeFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay,
         // A repeatable task needs to be able to cancel itself
         runnable.setTask(task);
 
-        return new SpongeTaskFuture<>(runnable, (ScheduledTask) task, this.scheduler);
+        return this.createFuture(runnable, task);
     }
 
     @Override
@@ -138,6 +143,20 @@ private Task.Builder createTask(Runnable command) {
         return this.taskBuilderProvider.get().execute(command);
     }
 
+    private <V> SpongeTaskFuture<V> createFuture(FutureTask<V> runnable, Task task) {
+        bindFuture(task, runnable);
+        return new SpongeTaskFuture<>(runnable, (ScheduledTask) task, this.scheduler);
+    }
+
+    private static void bindFuture(Task task, Future<?> future) {
+        final ScheduledTask scheduledTask = (ScheduledTask) task;
+        scheduledTask.future = future;
+        // The task may have been rejected before its future was known
+        if (scheduledTask.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            future.cancel(false);
+        }
+    }
+
     private static class SpongeTaskFuture<V> implements SpongeFuture<V> {
 
         private final FutureTask<V> runnable;
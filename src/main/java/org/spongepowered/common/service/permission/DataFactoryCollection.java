@@ -27,7 +27,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.spongepowered.api.command.CommandSource;
-import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
@@ -36,7 +35,6 @@
 import org.spongepowered.common.service.permission.base.SpongeSubjectCollection;
 
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
@@ -105,13 +103,18 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
+        protected Tristate computePermissionValue(String permission) {
+            Tristate ret = super.computePermissionValue(permission);
             if (ret == Tristate.UNDEFINED) {
                 ret = getDataPermissionValue(DataFactoryCollection.this.service.getDefaultData(), permission);
             }
             return ret;
 
         }
+
+        @Override
+        protected boolean isPermissionCacheable() {
+            return super.isPermissionCacheable() && isCacheable(DataFactoryCollection.this.service.getDefaultData());
+        }
     }
 }
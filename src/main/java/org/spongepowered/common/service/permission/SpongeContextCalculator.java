@@ -24,103 +24,102 @@
  */
 package org.spongepowered.common.service.permission;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.LocatedSource;
 import org.spongepowered.api.command.source.RemoteSource;
+import org.spongepowered.api.network.RemoteConnection;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.IpSetMatcher;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 /**
  * A context calculator handling world contexts.
+ *
+ * <p>The contexts of a source are memoised until it changes world or
+ * connection, or the ip sets are reloaded, as they are requested for every
+ * permission check.</p>
  */
 public class SpongeContextCalculator implements ContextCalculator<Subject> {
-    private final LoadingCache<RemoteSource, Set<Context>> remoteIpCache = buildAddressCache(Context.REMOTE_IP_KEY,
-                                                                                             input -> input.getConnection().getAddress().getAddress());
 
-    private final LoadingCache<RemoteSource, Set<Context>> localIpCache = buildAddressCache(Context.LOCAL_IP_KEY,
-                                                                                            input -> input.getConnection().getVirtualHost().getAddress());
-
-    private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String contextKey, final Function<RemoteSource, InetAddress> function) {
-        return CacheBuilder.newBuilder()
+    private final Cache<CommandSource, SourceContexts> contextCache = CacheBuilder.newBuilder()
             .weakKeys()
-            .build(new CacheLoader<RemoteSource, Set<Context>>() {
-                @Override
-                public Set<Context> load(RemoteSource key) throws Exception {
-                    ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
-                    final InetAddress addr = checkNotNull(function.apply(key), "addr");
-                    builder.add(new Context(contextKey, addr.getHostAddress()));
-                    for (String set : Maps.filterValues(SpongeImpl.getGlobalConfig().getConfig().getIpSets(), input -> {
-                        return input.apply(addr);
-                    }).keySet()) {
-                        builder.add(new Context(contextKey, set));
-                    }
-                    return builder.build();
-                }
-            });
+            .build();
+
+    private Set<Context> getContexts(CommandSource source) {
+        World world = source instanceof LocatedSource ? ((LocatedSource) source).getWorld() : null;
+        RemoteConnection connection = source instanceof RemoteSource ? ((RemoteSource) source).getConnection() : null;
+        IpSetMatcher matcher = SpongeImpl.getGlobalConfig().getConfig().getIpSetMatcher();
+        SourceContexts contexts = this.contextCache.getIfPresent(source);
+        if (contexts == null || contexts.world != world || contexts.connection != connection || contexts.matcher != matcher) {
+            contexts = new SourceContexts(world, connection, matcher);
+            this.contextCache.put(source, contexts);
+        }
+        return contexts.contexts;
     }
 
     @Override
     public void accumulateContexts(Subject subject, Set<Context> accumulator) {
         Optional<CommandSource> subjSource = subject.getCommandSource();
         if (subjSource.isPresent()) {
-            CommandSource source = subjSource.get();
-            if (source instanceof LocatedSource) {
-                World currentExt = ((LocatedSource) source).getWorld();
-                accumulator.add(currentExt.getContext());
-                accumulator.add((currentExt.getDimension().getContext()));
-            }
-            if (source instanceof RemoteSource) {
-                RemoteSource rem = (RemoteSource) source;
-                accumulator.addAll(this.remoteIpCache.getUnchecked(rem));
-                accumulator.addAll(this.localIpCache.getUnchecked(rem));
-                accumulator.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(rem.getConnection().getVirtualHost().getPort())));
-                accumulator.add(new Context(Context.LOCAL_HOST_KEY, rem.getConnection().getVirtualHost().getHostName()));
-            }
+            accumulator.addAll(getContexts(subjSource.get()));
         }
-
     }
 
     @Override
     public boolean matches(Context context, Subject subject) {
         Optional<CommandSource> subjSource = subject.getCommandSource();
-        if (subjSource.isPresent()) {
-            CommandSource source = subjSource.get();
-            if (source instanceof LocatedSource && context.getType().equals(Context.WORLD_KEY)) {
-                LocatedSource located = (LocatedSource) source;
-                if (context.getType().equals(Context.WORLD_KEY)) {
-                    return located.getWorld().getContext().equals(context);
-                } else if (context.getType().equals(Context.DIMENSION_KEY)) {
-                    return located.getWorld().getDimension().getContext().equals(context);
-                }
+        return subjSource.isPresent() && getContexts(subjSource.get()).contains(context);
+    }
+
+    private static final class SourceContexts {
+
+        @Nullable final World world;
+        @Nullable final RemoteConnection connection;
+        final IpSetMatcher matcher;
+        final Set<Context> contexts;
+
+        SourceContexts(@Nullable World world, @Nullable RemoteConnection connection, IpSetMatcher matcher) {
+            this.world = world;
+            this.connection = connection;
+            this.matcher = matcher;
+            ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
+            if (world != null) {
+                builder.add(world.getContext());
+                builder.add(world.getDimension().getContext());
+            }
+            if (connection != null) {
+                InetSocketAddress virtualHost = connection.getVirtualHost();
+                addAddressContexts(builder, Context.REMOTE_IP_KEY, connection.getAddress().getAddress(), matcher);
+                addAddressContexts(builder, Context.LOCAL_IP_KEY, virtualHost.getAddress(), matcher);
+                builder.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(virtualHost.getPort())));
+                // getHostString never performs a reverse lookup, unlike getHostName
+                builder.add(new Context(Context.LOCAL_HOST_KEY, virtualHost.getHostString()));
+            }
+            this.contexts = builder.build();
+        }
+
+        private static void addAddressContexts(ImmutableSet.Builder<Context> builder, String contextKey, @Nullable InetAddress addr,
+                IpSetMatcher matcher) {
+            if (addr == null) {
+                return;
             }
-            if (source instanceof RemoteSource) {
-                RemoteSource remote = (RemoteSource) source;
-                if (context.getType().equals(Context.LOCAL_HOST_KEY)) {
-                    return context.getValue().equals(remote.getConnection().getVirtualHost().getHostName());
-                } else if (context.getType().equals(Context.LOCAL_PORT_KEY)) {
-                    return context.getValue().equals(String.valueOf(remote.getConnection().getVirtualHost().getPort()));
-                } else if (context.getType().equals(Context.LOCAL_IP_KEY)) {
-                    return this.localIpCache.getUnchecked(remote).contains(context);
-                } else if (context.getType().equals(Context.REMOTE_IP_KEY)) {
-                    return this.remoteIpCache.getUnchecked(remote).contains(context);
-                }
+            builder.add(new Context(contextKey, addr.getHostAddress()));
+            for (String set : matcher.getMatchingSets(addr)) {
+                builder.add(new Context(contextKey, set));
             }
         }
-        return false;
     }
 }
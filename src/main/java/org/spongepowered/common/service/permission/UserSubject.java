@@ -27,7 +27,6 @@
 import com.mojang.authlib.GameProfile;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.UserListOpsEntry;
-import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
@@ -37,7 +36,6 @@
 import org.spongepowered.common.service.permission.base.SpongeSubject;
 
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * An implementation of vanilla minecraft's 4 op groups.
@@ -113,8 +111,8 @@ public MemorySubjectData getSubjectData() {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+    protected Tristate computePermissionValue(String permission) {
+        Tristate ret = super.computePermissionValue(permission);
         if (ret == Tristate.UNDEFINED) {
             ret = getDataPermissionValue(this.collection.getService().getDefaultData(), permission);
         }
@@ -124,4 +122,15 @@ public Tristate getPermissionValue(Set<Context> contexts, String permission) {
         return ret;
 
     }
+
+    @Override
+    protected Object getPermissionCacheState() {
+        // The op level is read from the ops list, which changes without notifying the subject data
+        return getOpLevel();
+    }
+
+    @Override
+    protected boolean isPermissionCacheable() {
+        return super.isPermissionCacheable() && isCacheable(this.collection.getService().getDefaultData());
+    }
 }
@@ -57,7 +57,7 @@ public boolean setPermission(Set<Context> contexts, String permission, Tristate
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.setPermission(contexts, permission, value);
+        return onPermissionsChanged(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -65,7 +65,12 @@ public boolean clearPermissions(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearPermissions(contexts);
+        return onPermissionsChanged(super.clearPermissions(contexts));
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        return onPermissionsChanged(super.clearPermissions());
     }
 
     @Override
@@ -73,7 +78,7 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        return onPermissionsChanged(super.addParent(contexts, parent));
     }
 
     @Override
@@ -81,7 +86,7 @@ public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        return onPermissionsChanged(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -89,6 +94,24 @@ public boolean clearParents(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        return onPermissionsChanged(super.clearParents(contexts));
+    }
+
+    @Override
+    public boolean clearParents() {
+        return onPermissionsChanged(super.clearParents());
+    }
+
+    /**
+     * Invalidates the resolved permissions of subjects if the data changed.
+     *
+     * @param changed Whether the data changed
+     * @return Whether the data changed
+     */
+    protected static boolean onPermissionsChanged(boolean changed) {
+        if (changed) {
+            SpongeSubject.invalidatePermissionCaches();
+        }
+        return changed;
     }
 }
@@ -61,13 +61,13 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return setParent(parent);
+        return onPermissionsChanged(setParent(parent));
     }
 
     @Override
     public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (parent == this.parent) {
-            return setParent(null);
+            return onPermissionsChanged(setParent(null));
         }
         return false;
     }
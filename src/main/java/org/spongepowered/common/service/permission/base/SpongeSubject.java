@@ -24,6 +24,9 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
@@ -31,10 +34,53 @@
 import org.spongepowered.api.util.Tristate;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
 
 public abstract class SpongeSubject implements Subject {
 
+    private static final AtomicLong permissionGeneration = new AtomicLong();
+    private static final LongAdder permissionCacheHits = new LongAdder();
+    private static final LongAdder permissionCacheMisses = new LongAdder();
+
+    private final Cache<String, Tristate> permissionCache = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .recordStats()
+            .build();
+    private volatile long permissionCacheGeneration = -1;
+    @Nullable private volatile Object permissionCacheState;
+
+    /**
+     * Invalidates the resolved permissions of every subject. As values are
+     * inherited through parents and the default data, any change to subject
+     * data may affect any other subject.
+     */
+    public static void invalidatePermissionCaches() {
+        permissionGeneration.incrementAndGet();
+    }
+
+    /**
+     * Gets the statistics of the resolved permission caches of all subjects.
+     *
+     * @return The permission cache statistics
+     */
+    public static CacheStats getTotalPermissionCacheStats() {
+        return new CacheStats(permissionCacheHits.sum(), permissionCacheMisses.sum(), 0, 0, 0, 0);
+    }
+
+    /**
+     * Gets the statistics of the resolved permission cache of this subject.
+     *
+     * @return The permission cache statistics
+     */
+    public CacheStats getPermissionCacheStats() {
+        return this.permissionCache.stats();
+    }
+
     @Override
     public SubjectData getTransientSubjectData() {
         return getSubjectData();
@@ -55,9 +101,72 @@ public boolean hasPermission(String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        long generation = permissionGeneration.get();
+        Object state = getPermissionCacheState();
+        if (generation != this.permissionCacheGeneration || !Objects.equals(state, this.permissionCacheState)) {
+            this.permissionCache.invalidateAll();
+            this.permissionCacheGeneration = generation;
+            this.permissionCacheState = state;
+        }
+        Tristate res = this.permissionCache.getIfPresent(permission);
+        if (res != null) {
+            permissionCacheHits.increment();
+            return res;
+        }
+        permissionCacheMisses.increment();
+        res = computePermissionValue(permission);
+        // Don't cache a value resolved while the data was changing
+        if (permissionGeneration.get() == generation && isPermissionCacheable()) {
+            this.permissionCache.put(permission, res);
+        }
+        return res;
+    }
+
+    /**
+     * Resolves the value of a permission for this subject, including the
+     * values inherited from its parents.
+     *
+     * @param permission The permission
+     * @return The resolved value
+     */
+    protected Tristate computePermissionValue(String permission) {
         return getDataPermissionValue(getSubjectData(), permission);
     }
 
+    /**
+     * Gets state outside of the subject data that the resolved permissions
+     * depend on, the cache is cleared whenever it changes.
+     *
+     * @return The state, or null
+     */
+    @Nullable
+    protected Object getPermissionCacheState() {
+        return null;
+    }
+
+    /**
+     * Gets whether resolved permissions may be cached, which requires every
+     * subject data they are resolved from to invalidate the caches when it
+     * changes.
+     *
+     * @return Whether resolved permissions may be cached
+     */
+    protected boolean isPermissionCacheable() {
+        return isCacheable(getSubjectData());
+    }
+
+    protected static boolean isCacheable(MemorySubjectData data) {
+        if (!(data instanceof GlobalMemorySubjectData)) {
+            return false;
+        }
+        for (Subject parent : data.getParents(SubjectData.GLOBAL_CONTEXT)) {
+            if (!(parent instanceof SpongeSubject) || !((SpongeSubject) parent).isPermissionCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
         Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
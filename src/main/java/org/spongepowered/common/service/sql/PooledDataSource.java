@@ -0,0 +1,327 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.sql;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.common.config.SpongeConfig;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+
+/**
+ * A data source backed by a connection pool which is opened when a
+ * connection is first requested, and closed again by
+ * {@link SqlServiceImpl} once it goes unused. The data source itself stays
+ * valid, so plugins may hold on to it.
+ */
+@NonnullByDefault
+public final class PooledDataSource implements DataSource, SqlPoolMetrics {
+
+    /**
+     * A query run with a connection of the pool.
+     *
+     * @param <T> The type of the result
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+
+        T run(Connection connection) throws SQLException;
+    }
+
+    private final SqlServiceImpl.ConnectionInfo info;
+    @Nullable private final Properties driverProperties;
+    private final Supplier<SpongeConfig.SqlPoolCategory> settings;
+    private final ThreadPoolExecutor queryExecutor;
+
+    @Nullable private volatile HikariDataSource pool;
+    private long lastUsed = System.nanoTime();
+
+    private long acquiredConnections;
+    private long totalAcquireLatency;
+    private long maxAcquireLatency;
+
+    /**
+     * Creates a new data source. The settings are resolved again whenever
+     * the pool is opened, so config reloads apply once an idle pool was
+     * closed. Only the queue limit of the query threads is fixed.
+     *
+     * @param info The connection info
+     * @param driverProperties The driver specific connection properties
+     * @param settings The resolver of the settings of the pool
+     */
+    PooledDataSource(SqlServiceImpl.ConnectionInfo info, @Nullable Properties driverProperties, Supplier<SpongeConfig.SqlPoolCategory> settings) {
+        this.info = info;
+        this.driverProperties = driverProperties;
+        this.settings = settings;
+        final SpongeConfig.SqlPoolCategory initialSettings = settings.get();
+        final int threads = initialSettings.getAsyncThreads();
+        this.queryExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(initialSettings.getAsyncQueueLimit()),
+                new ThreadFactoryBuilder().setNameFormat("Sponge SQL Query Thread - " + info.getAuthlessUrl() + " #%d").setDaemon(true).build());
+        this.queryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the JDBC url of the database, without authentication information.
+     *
+     * @return The url
+     */
+    public String getUrl() {
+        return this.info.getAuthlessUrl();
+    }
+
+    // Synchronized with closeIfIdle, so a pool is never closed right after it was handed out
+    private synchronized HikariDataSource getPool() {
+        this.lastUsed = System.nanoTime();
+        HikariDataSource pool = this.pool;
+        if (pool == null) {
+            pool = createPool();
+            this.pool = pool;
+        }
+        return pool;
+    }
+
+    private HikariDataSource createPool() {
+        final SpongeConfig.SqlPoolCategory settings = this.settings.get();
+        final int threads = settings.getAsyncThreads();
+        if (threads > this.queryExecutor.getMaximumPoolSize()) {
+            this.queryExecutor.setMaximumPoolSize(threads);
+            this.queryExecutor.setCorePoolSize(threads);
+        } else {
+            this.queryExecutor.setCorePoolSize(threads);
+            this.queryExecutor.setMaximumPoolSize(threads);
+        }
+        HikariConfig config = new HikariConfig();
+        config.setUsername(this.info.getUser());
+        config.setPassword(this.info.getPassword());
+        config.setDriverClassName(this.info.getDriverClassName());
+        config.setMaximumPoolSize(settings.getMaxSize());
+        config.setConnectionTimeout(settings.getConnectionTimeout());
+        if (this.driverProperties != null) {
+            config.setDataSourceProperties(this.driverProperties);
+        }
+        config.setJdbcUrl(this.info.getAuthlessUrl());
+        return new HikariDataSource(config);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final HikariDataSource pool = getPool();
+        final long start = System.nanoTime();
+        final Connection connection = pool.getConnection();
+        final long latency = System.nanoTime() - start;
+        synchronized (this) {
+            this.acquiredConnections++;
+            this.totalAcquireLatency += latency;
+            this.maxAcquireLatency = Math.max(this.maxAcquireLatency, latency);
+        }
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections use the credentials of the JDBC url");
+    }
+
+    /**
+     * Runs a query with a connection of the pool on the query threads of this
+     * data source, so the calling thread doesn't wait for a connection. The
+     * returned future is completed on the main thread.
+     *
+     * @param query The query to run
+     * @param <T> The type of the result
+     * @return The future result
+     */
+    public <T> CompletableFuture<T> runAsync(Query<T> query) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.queryExecutor.execute(() -> {
+                T result;
+                try (Connection connection = getConnection()) {
+                    result = query.run(connection);
+                } catch (Throwable t) {
+                    MinecraftServer.getServer().addScheduledTask(() -> future.completeExceptionally(t));
+                    return;
+                }
+                MinecraftServer.getServer().addScheduledTask(() -> future.complete(result));
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Closes the pool if it was not used for the given time and none of its
+     * connections are in use.
+     *
+     * @param timeout The time in nanoseconds
+     * @return True if the pool was closed
+     */
+    boolean closeIfIdle(long timeout) {
+        final HikariDataSource pool;
+        synchronized (this) {
+            pool = this.pool;
+            if (pool == null || System.nanoTime() - this.lastUsed < timeout) {
+                return false;
+            }
+            if (getActiveConnections() > 0 || getThreadsAwaitingConnection() > 0 || this.queryExecutor.getActiveCount() > 0
+                    || !this.queryExecutor.getQueue().isEmpty()) {
+                return false;
+            }
+            this.pool = null;
+        }
+        // Closed outside the lock, so requests for a connection open a new pool
+        // instead of waiting for this one to shut down
+        pool.close();
+        return true;
+    }
+
+    void close() {
+        this.queryExecutor.shutdown();
+        final HikariDataSource pool;
+        synchronized (this) {
+            pool = this.pool;
+            this.pool = null;
+        }
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Nullable
+    private HikariPoolMXBean getPoolMXBean() {
+        final HikariDataSource pool = this.pool;
+        return pool == null ? null : pool.getHikariPoolMXBean();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.pool != null;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        final HikariPoolMXBean bean = getPoolMXBean();
+        return bean == null ? 0 : bean.getActiveConnections();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        final HikariPoolMXBean bean = getPoolMXBean();
+        return bean == null ? 0 : bean.getIdleConnections();
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        final HikariPoolMXBean bean = getPoolMXBean();
+        return bean == null ? 0 : bean.getThreadsAwaitingConnection();
+    }
+
+    @Override
+    public synchronized long getAcquiredConnections() {
+        return this.acquiredConnections;
+    }
+
+    @Override
+    public synchronized long getAverageAcquireLatency(TimeUnit unit) {
+        return this.acquiredConnections == 0 ? 0 : unit.convert(this.totalAcquireLatency / this.acquiredConnections, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized long getMaxAcquireLatency(TimeUnit unit) {
+        return unit.convert(this.maxAcquireLatency, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int getQueuedQueries() {
+        return this.queryExecutor.getQueue().size();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return getPool().getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        getPool().setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        getPool().setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return getPool().getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        final HikariDataSource pool = getPool();
+        if (iface.isInstance(pool)) {
+            // The pool is replaced once it was closed for being idle, so it must not be held on to
+            throw new SQLException("The connection pool of " + getUrl() + " can not be unwrapped");
+        }
+        return pool.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return true;
+        }
+        final HikariDataSource pool = getPool();
+        return !iface.isInstance(pool) && pool.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.sql;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics about the connection pool of a single database. The
+ * {@link javax.sql.DataSource}s provided by {@link SqlServiceImpl} implement
+ * this interface.
+ */
+public interface SqlPoolMetrics {
+
+    /**
+     * Gets whether the pool is open. Pools are closed when they are unused
+     * for a while, and open again when a connection is requested.
+     *
+     * @return True if the pool is open
+     */
+    boolean isOpen();
+
+    /**
+     * Gets the number of connections in use.
+     *
+     * @return The number of active connections
+     */
+    int getActiveConnections();
+
+    /**
+     * Gets the number of connections waiting in the pool to be used.
+     *
+     * @return The number of idle connections
+     */
+    int getIdleConnections();
+
+    /**
+     * Gets the number of threads waiting for a connection because the pool
+     * is exhausted.
+     *
+     * @return The number of waiting threads
+     */
+    int getThreadsAwaitingConnection();
+
+    /**
+     * Gets the number of connections taken from the pool.
+     *
+     * @return The number of acquired connections
+     */
+    long getAcquiredConnections();
+
+    /**
+     * Gets the average time it took to take a connection from the pool.
+     *
+     * @param unit The time unit to return
+     * @return The average acquire latency
+     */
+    long getAverageAcquireLatency(TimeUnit unit);
+
+    /**
+     * Gets the longest time it took to take a connection from the pool.
+     *
+     * @param unit The time unit to return
+     * @return The maximum acquire latency
+     */
+    long getMaxAcquireLatency(TimeUnit unit);
+
+    /**
+     * Gets the number of asynchronous queries waiting for a thread to run
+     * on.
+     *
+     * @return The number of queued queries
+     */
+    int getQueuedQueries();
+
+}
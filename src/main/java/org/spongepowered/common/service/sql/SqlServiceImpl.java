@@ -25,30 +25,34 @@
 package org.spongepowered.common.service.sql;
 
 import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableMap;
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.api.service.sql.SqlService;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
 
@@ -61,9 +65,11 @@
  *     - It allows applying additional driver-specific connection
  *     properties -- this allows us to do some light performance tuning in
  *     cases where we don't want to be as conservative as the driver developers
- *     - Caches DataSources. This cache is currently never cleared of stale entries
- *     -- if some plugin makes database connections to a ton of different databases
- *     we may want to implement this, but it is kinda unimportant.
+ *     - Caches DataSources. The connection pool behind a DataSource is closed
+ *     once it goes unused for the configured time, and opened again when a
+ *     connection is next requested, so plugins may keep their DataSources
+ *     - Sizes the pool of each alias from the config, and runs queries off
+ *     the main thread through {@link PooledDataSource#runAsync}
  */
 @NonnullByDefault
 public class SqlServiceImpl implements SqlService, Closeable {
@@ -82,46 +88,98 @@ public class SqlServiceImpl implements SqlService, Closeable {
         PROTOCOL_SPECIFIC_PROPS = build.build();
     }
 
-    private final LoadingCache<ConnectionInfo, HikariDataSource> connectionCache =
-            CacheBuilder.newBuilder().removalListener(new RemovalListener<ConnectionInfo, HikariDataSource>() {
+    private final Cache<ConnectionInfo, PooledDataSource> connectionCache =
+            CacheBuilder.newBuilder().removalListener(new RemovalListener<ConnectionInfo, PooledDataSource>() {
                 @Override
-                public void onRemoval(RemovalNotification<ConnectionInfo, HikariDataSource> notification) {
-                    HikariDataSource source = notification.getValue();
+                public void onRemoval(RemovalNotification<ConnectionInfo, PooledDataSource> notification) {
+                    PooledDataSource source = notification.getValue();
                     if (source != null) {
                         source.close();
                     }
                 }
-            }).build(new CacheLoader<ConnectionInfo, HikariDataSource>() {
-                @Override
-                public HikariDataSource load(@Nonnull ConnectionInfo key) throws Exception {
-                    HikariConfig config = new HikariConfig();
-                    config.setUsername(key.getUser());
-                    config.setPassword(key.getPassword());
-                    config.setDriverClassName(key.getDriverClassName());
-                    // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
-                    config.setMaximumPoolSize((Runtime.getRuntime().availableProcessors() * 2) + 1);
-                    Properties driverSpecificProperties = PROTOCOL_SPECIFIC_PROPS.get(key.getDriverClassName());
-                    if (driverSpecificProperties != null) {
-                        config.setDataSourceProperties(driverSpecificProperties);
-                    }
-                    config.setJdbcUrl(key.getAuthlessUrl());
-                    return new HikariDataSource(config);
-                }
-            });
+            }).build();
+    private final Map<String, ConnectionInfo> connectionInfos = new ConcurrentHashMap<>();
+    @Nullable private ScheduledExecutorService evictionExecutor;
 
     @Override
     public DataSource getDataSource(String jdbcConnection) throws SQLException {
         jdbcConnection = getConnectionUrlFromAlias(jdbcConnection).orElse(jdbcConnection);
-        ConnectionInfo info = ConnectionInfo.fromUrl(jdbcConnection);
+        ConnectionInfo info = this.connectionInfos.get(jdbcConnection);
+        if (info == null) {
+            info = ConnectionInfo.fromUrl(jdbcConnection);
+            this.connectionInfos.put(jdbcConnection, info);
+        }
+        final ConnectionInfo key = info;
+        final String url = jdbcConnection;
         try {
-            return this.connectionCache.get(info);
+            return this.connectionCache.get(key, () -> {
+                startEviction();
+                return new PooledDataSource(key, PROTOCOL_SPECIFIC_PROPS.get(key.getDriverClassName()), () -> getPoolSettings(url));
+            });
         } catch (ExecutionException e) {
             throw new SQLException(e);
         }
     }
 
+    /**
+     * Gets the pool settings of the alias of a connection url, read from the
+     * current config. The alias is looked up by the url, so the settings
+     * apply however the data source was first requested.
+     *
+     * @param jdbcConnection The connection url
+     * @return The pool settings
+     */
+    private static SpongeConfig.SqlPoolCategory getPoolSettings(String jdbcConnection) {
+        final SpongeConfig.SqlCategory sql = SpongeImpl.getGlobalConfig().getConfig().getSql();
+        for (Map.Entry<String, String> alias : sql.getAliases().entrySet()) {
+            if (alias.getValue().equals(jdbcConnection) && sql.getPools().containsKey(alias.getKey())) {
+                return sql.getPool(alias.getKey());
+            }
+        }
+        return sql.getPool(null);
+    }
+
+    /**
+     * Gets the data sources which were requested so far.
+     *
+     * @return The data sources
+     */
+    public Collection<PooledDataSource> getDataSources() {
+        return Collections.unmodifiableCollection(this.connectionCache.asMap().values());
+    }
+
+    private synchronized void startEviction() {
+        if (this.evictionExecutor != null) {
+            return;
+        }
+        this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Sponge SQL Pool Eviction Thread").setDaemon(true).build());
+        this.evictionExecutor.scheduleWithFixedDelay(this::closeIdlePools, 1, 1, TimeUnit.MINUTES);
+    }
+
+    private void closeIdlePools() {
+        final int timeout = SpongeImpl.getGlobalConfig().getConfig().getSql().getIdlePoolTimeout();
+        if (timeout <= 0) {
+            return;
+        }
+        for (PooledDataSource source : this.connectionCache.asMap().values()) {
+            // An exception escaping the task would cancel all further runs
+            try {
+                source.closeIfIdle(TimeUnit.SECONDS.toNanos(timeout));
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Could not close the idle connection pool of " + source.getUrl(), e);
+            }
+        }
+    }
+
     @Override
     public void close() throws IOException {
+        synchronized (this) {
+            if (this.evictionExecutor != null) {
+                this.evictionExecutor.shutdown();
+                this.evictionExecutor = null;
+            }
+        }
         this.connectionCache.invalidateAll();
     }
 
@@ -41,6 +41,7 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
+import org.spongepowered.common.interfaces.IMixinPlayerProfileCache;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 
@@ -48,18 +49,27 @@
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
-class UserDiscoverer {
+import javax.annotation.Nullable;
+
+public class UserDiscoverer {
 
     private static final Cache<UUID, User> userCache = CacheBuilder.newBuilder()
             .expireAfterAccess(1, TimeUnit.DAYS)
             .build();
 
+    // Listing the player data directory is slow when it holds many files, so
+    // it is listed once in the background when the server starts and the
+    // index is kept up to date as data is saved and deleted.
+    private static final Set<UUID> playerDataIndex = ConcurrentHashMap.newKeySet();
+    @Nullable private static volatile File indexedPlayersDirectory;
+    private static volatile CompletableFuture<Void> playerDataIndexed = CompletableFuture.completedFuture(null);
+
     static User create(GameProfile profile) {
         User user = (User) new SpongeUser(profile);
         userCache.put(profile.getId(), user);
@@ -98,8 +108,8 @@ static User findByUuid(UUID uniqueId) {
 
     static User findByUsername(String username) {
         PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
-        HashSet<String> names = Sets.newHashSet(cache.getUsernames());
-        if (names.contains(username.toLowerCase(Locale.ROOT))) {
+        // Only look up cached names, as a miss would query the Mojang API
+        if (((IMixinPlayerProfileCache) cache).isUsernameCached(username)) {
             GameProfile profile = cache.getGameProfileForUsername(username);
             if (profile != null) {
                 return findByUuid(profile.getId());
@@ -118,10 +128,8 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         }
 
         // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(UUID.fromString(playerUuid));
+        for (UUID playerUuid : getPlayerDataIndex(getPlayersDirectory())) {
+            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(playerUuid);
             if (profile != null) {
                 profiles.add((org.spongepowered.api.profile.GameProfile) profile);
             }
@@ -216,22 +224,86 @@ private static User getFromBanlist(UUID uniqueId) {
     }
 
     private static File getPlayerDataFile(UUID uniqueId) {
+        File playersDirectory = getPlayersDirectory();
+        if (!playersDirectory.equals(indexedPlayersDirectory) || !playerDataIndexed.isDone()) {
+            // Don't wait for the directory to be listed to look up a single user
+            File dataFile = new File(playersDirectory, uniqueId + ".dat");
+            return dataFile.exists() ? dataFile : null;
+        }
+        if (playerDataIndex.contains(uniqueId)) {
+            return new File(playersDirectory, uniqueId + ".dat");
+        }
+        return null;
+    }
+
+    private static File getPlayersDirectory() {
         // Note: Uses the overworld's player data
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            if (uniqueId.toString().equals(playerUuid)) {
-                return new File(saveHandler.playersDirectory, playerUuid + ".dat");
+        return ((SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler()).playersDirectory;
+    }
+
+    private static Set<UUID> getPlayerDataIndex(File playersDirectory) {
+        if (!playersDirectory.equals(indexedPlayersDirectory)) {
+            indexPlayerData(playersDirectory);
+        }
+        playerDataIndexed.join();
+        return playerDataIndex;
+    }
+
+    /**
+     * Starts listing the player data directory in the background, called
+     * when the server starts so lookups don't have to list it mid-tick.
+     *
+     * @param playersDirectory The directory the player data is saved to
+     */
+    public static void indexPlayerData(File playersDirectory) {
+        synchronized (playerDataIndex) {
+            if (playersDirectory.equals(indexedPlayersDirectory)) {
+                return;
             }
+            playerDataIndex.clear();
+            indexedPlayersDirectory = playersDirectory;
+            playerDataIndexed = CompletableFuture.runAsync(() -> {
+                String[] files = playersDirectory.list();
+                if (files != null) {
+                    for (String file : files) {
+                        if (file.endsWith(".dat")) {
+                            try {
+                                playerDataIndex.add(UUID.fromString(file.substring(0, file.length() - 4)));
+                            } catch (IllegalArgumentException ignored) {
+                                // Not player data
+                            }
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds the player data file of a user to the index once it was saved.
+     * Vanilla only logs a failed save, so the user is only indexed if the
+     * data file exists afterwards.
+     *
+     * @param playersDirectory The directory the data was saved to
+     * @param uniqueId The user's UUID
+     */
+    public static void onPlayerDataSaved(File playersDirectory, UUID uniqueId) {
+        if (playersDirectory.equals(indexedPlayersDirectory) && new File(playersDirectory, uniqueId.toString() + ".dat").exists()) {
+            playerDataIndex.add(uniqueId);
         }
-        return null;
     }
 
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
+        // Wait for the listing, so it doesn't index the deleted file again
+        getPlayerDataIndex(getPlayersDirectory());
         File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
-                return dataFile.delete();
+                if (dataFile.delete()) {
+                    playerDataIndex.remove(uniqueId);
+                    return true;
+                }
+                return false;
             } catch (SecurityException e) {
                 SpongeHooks.logWarning("Unable to delete file {} due to a security error. {}", dataFile, e);
                 return false;
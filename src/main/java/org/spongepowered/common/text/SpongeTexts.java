@@ -25,14 +25,22 @@
 package org.spongepowered.common.text;
 
 import com.google.common.collect.Lists;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.EncoderException;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S02PacketChat;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.IChatComponent;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.api.text.chat.ChatTypes;
 import org.spongepowered.api.text.serializer.TextSerializers;
+import org.spongepowered.common.interfaces.network.IMixinS02PacketChat;
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
 import org.spongepowered.common.interfaces.text.IMixinText;
+import org.spongepowered.common.text.chat.SpongeChatType;
 
 import java.util.List;
 
@@ -81,6 +89,40 @@ public static IChatComponent fixActionBarFormatting(IChatComponent component) {
         return result;
     }
 
+    /**
+     * Creates a chat packet for the text which is serialized once, so it can
+     * be sent to many players without encoding the text for each of them.
+     *
+     * @param text The text
+     * @param type The chat type
+     * @return The chat packet
+     */
+    public static S02PacketChat createChatPacket(Text text, ChatType type) {
+        IChatComponent component = toComponent(text);
+        String json;
+        if (type == ChatTypes.ACTION_BAR) {
+            component = fixActionBarFormatting(component);
+            json = IChatComponent.Serializer.componentToJson(component);
+        } else {
+            json = ((IMixinText) text).toJson();
+        }
+        byte id = ((SpongeChatType) type).getByteId();
+        S02PacketChat packet = new S02PacketChat(component, id);
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        try {
+            buffer.writeString(json);
+            buffer.writeByte(id);
+            byte[] data = new byte[buffer.readableBytes()];
+            buffer.readBytes(data);
+            ((IMixinS02PacketChat) packet).setSerializedData(data);
+        } catch (EncoderException e) {
+            // The text is too long, the packet fails when it is sent like any other
+        } finally {
+            buffer.release();
+        }
+        return packet;
+    }
+
     public static List<String> asJson(List<Text> list) {
         List<String> json = Lists.newArrayList();
         for (Text line : list) {
@@ -31,6 +31,9 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.MathHelper;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -64,13 +67,18 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -82,6 +90,8 @@ public class SelectorResolver {
     private static final Set<ArgumentType<?>> LOCATION_BASED_ARGUMENTS;
     private static final Function<Number, Double> TO_DOUBLE = Number::doubleValue;
     private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
+    // Search boxes spanning more chunks scan the loaded entities instead
+    private static final int MAX_SEARCH_CHUNKS = 1024;
 
     static {
         ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
@@ -115,6 +125,7 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Vector3d position;
     private final Optional<CommandSource> original;
     private final Selector selector;
+    private final boolean playerOnly;
     private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
 
@@ -136,35 +147,38 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.position = position == null ? ORIGIN : position;
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
+        this.playerOnly = isPlayerOnlySelector();
         this.selectorFilter = makeFilter();
         this.alwaysUsePosition = force;
     }
 
+    private boolean isPlayerOnlySelector() {
+        SelectorType selectorType = this.selector.getType();
+        if (selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER) {
+            return true;
+        }
+        // Like Vanilla, a RANDOM selector only selects players unless it has a type
+        Optional<Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        return selectorType == SelectorTypes.RANDOM && (!type.isPresent()
+                || !type.get().isInverted() && type.get().getValue() == EntityTypes.PLAYER);
+    }
+
     private Predicate<Entity> makeFilter() {
-        // for easier reading
-        final Selector sel = this.selector;
         Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
         List<Predicate<Entity>> filters = Lists.newArrayList();
+        // The filters are ordered to apply the cheapest ones first
+        if (this.playerOnly) {
+            filters.add(requireTypePredicate(Entity.class, Player.class));
+        }
         addTypeFilters(filters);
         addDimensionFilters(position, filters);
         addRadiusFilters(position, filters);
-        addLevelFilters(filters);
+        addRotationFilters(filters);
         addGamemodeFilters(filters);
+        addLevelFilters(filters);
         addNameFilters(filters);
-        addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
-        SelectorType selectorType = sel.getType();
-        Optional<Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
-                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
-                && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
-            // insert at the start so it applies first
-            filters.add(0, requireTypePredicate(Entity.class, Player.class));
-        }
         return Functional.predicateAnd(filters);
     }
 
@@ -298,10 +312,15 @@ private void addTeamFilters(List<Predicate<Entity>> filters) {
             final Collection<Team> teams = Sponge.getGame().getServer().getServerScoreboard().get().getTeams();
             filters.add(new Predicate<Entity>() {
 
+                private Collection<Text> members;
+
                 @Override
                 public boolean test(Entity input) {
                     if (input instanceof TeamMember) {
-                        return inverted ^ collectMembers(teams).contains(((TeamMember) input).getTeamRepresentation());
+                        if (this.members == null) {
+                            this.members = collectMembers(teams);
+                        }
+                        return inverted ^ this.members.contains(((TeamMember) input).getTeamRepresentation());
                     }
                     return false;
                 }
@@ -348,30 +367,161 @@ public Set<Entity> resolve() {
         }
         int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
         Set<? extends Extent> extents = getExtentSet();
+        Optional<AxisAlignedBB> searchBox = getSearchBox();
+        if (selectorType == SelectorTypes.RANDOM && maxToSelect > 0) {
+            return selectRandom(extents, searchBox, maxToSelect);
+        } else if (selectorType == SelectorTypes.NEAREST_PLAYER && maxToSelect > 0) {
+            return selectNearest(extents, searchBox, maxToSelect);
+        }
         int count = 0;
         ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
-            }
-
-            for (Entity e : allEntities) {
+            for (Entity e : getCandidates(extent, searchBox)) {
                 if (!this.selectorFilter.test(e)) {
                     continue;
                 }
                 entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                if (maxToSelect > 0 && ++count >= maxToSelect) {
+                    return entities.build();
                 }
             }
         }
         return entities.build();
     }
 
+    /**
+     * Selects a uniformly random sample of the matching entities using
+     * reservoir sampling, without copying or shuffling the candidates.
+     */
+    private Set<Entity> selectRandom(Set<? extends Extent> extents, Optional<AxisAlignedBB> searchBox, int maxToSelect) {
+        Random random = ThreadLocalRandom.current();
+        List<Entity> reservoir = new ArrayList<>();
+        int seen = 0;
+        for (Extent extent : extents) {
+            for (Entity e : getCandidates(extent, searchBox)) {
+                if (!this.selectorFilter.test(e)) {
+                    continue;
+                }
+                seen++;
+                if (reservoir.size() < maxToSelect) {
+                    reservoir.add(e);
+                } else {
+                    int index = random.nextInt(seen);
+                    if (index < maxToSelect) {
+                        reservoir.set(index, e);
+                    }
+                }
+            }
+        }
+        Collections.shuffle(reservoir, random);
+        return ImmutableSet.copyOf(reservoir);
+    }
+
+    private Set<Entity> selectNearest(Set<? extends Extent> extents, Optional<AxisAlignedBB> searchBox, int maxToSelect) {
+        final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        List<Entity> matches = new ArrayList<>();
+        for (Extent extent : extents) {
+            for (Entity e : getCandidates(extent, searchBox)) {
+                if (this.selectorFilter.test(e)) {
+                    matches.add(e);
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(e -> e.getLocation().getPosition().distanceSquared(position)));
+        return ImmutableSet.copyOf(matches.subList(0, Math.min(maxToSelect, matches.size())));
+    }
+
+    /**
+     * Gets the entities of the extent that can match the selector. Players
+     * are taken from the player list of the world for player only selectors,
+     * and only the chunks intersecting the search box are visited when the
+     * selector bounds the area horizontally to a limited number of chunks.
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<Entity> getCandidates(Extent extent, Optional<AxisAlignedBB> searchBox) {
+        if (extent instanceof net.minecraft.world.World) {
+            net.minecraft.world.World world = (net.minecraft.world.World) extent;
+            if (this.playerOnly) {
+                return (Collection<Entity>) (List<?>) world.playerEntities;
+            } else if (searchBox.isPresent()) {
+                Collection<Entity> entities = getChunkEntities(world, searchBox.get());
+                if (entities != null) {
+                    return entities;
+                }
+            }
+        }
+        return extent.getEntities();
+    }
+
+    /**
+     * Gets the entities intersecting the box from the entity lists of the
+     * loaded chunks it covers. The lists are read directly rather than
+     * through the world, which would post a collision event for the lookup.
+     *
+     * @return The entities, or null if the box covers too many chunks
+     */
+    @Nullable
+    private static Collection<Entity> getChunkEntities(net.minecraft.world.World world, AxisAlignedBB box) {
+        // Entities are stored in the chunk of their position, but may reach
+        // into the neighbouring chunks, like in the lookups of the world
+        final int minChunkX = MathHelper.floor_double((box.minX - 2.0D) / 16.0D);
+        final int maxChunkX = MathHelper.floor_double((box.maxX + 2.0D) / 16.0D);
+        final int minChunkZ = MathHelper.floor_double((box.minZ - 2.0D) / 16.0D);
+        final int maxChunkZ = MathHelper.floor_double((box.maxZ + 2.0D) / 16.0D);
+        final long width = (long) maxChunkX - minChunkX + 1;
+        final long depth = (long) maxChunkZ - minChunkZ + 1;
+        if (width > MAX_SEARCH_CHUNKS || depth > MAX_SEARCH_CHUNKS || width * depth > MAX_SEARCH_CHUNKS) {
+            return null;
+        }
+        List<Entity> entities = new ArrayList<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (!world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                    continue;
+                }
+                for (ClassInheritanceMultiMap<net.minecraft.entity.Entity> list : world.getChunkFromChunkCoords(chunkX, chunkZ).getEntityLists()) {
+                    for (net.minecraft.entity.Entity entity : list) {
+                        if (entity.getEntityBoundingBox().intersectsWith(box)) {
+                            entities.add((Entity) entity);
+                        }
+                    }
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Gets the box containing every position the radius and dimension
+     * arguments allow, if they bound it on both horizontal axes. The box is
+     * grown by a block as entities are looked up by their bounding box while
+     * the filters test their position.
+     */
+    private Optional<AxisAlignedBB> getSearchBox() {
+        Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        Vector3d min = new Vector3d(-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE);
+        Vector3d max = new Vector3d(Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE);
+        Optional<Integer> radiusMax = this.selector.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            min = position.sub(radiusMax.get(), radiusMax.get(), radiusMax.get());
+            max = position.add(radiusMax.get(), radiusMax.get(), radiusMax.get());
+        }
+        Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+        Vector3d boxMin = position.min(position.add(boxDimensions));
+        Vector3d boxMax = position.max(position.add(boxDimensions));
+        boolean hasX = this.selector.has(ArgumentTypes.DIMENSION.x());
+        boolean hasY = this.selector.has(ArgumentTypes.DIMENSION.y());
+        boolean hasZ = this.selector.has(ArgumentTypes.DIMENSION.z());
+        min = new Vector3d(hasX ? Math.max(min.getX(), boxMin.getX()) : min.getX(), hasY ? Math.max(min.getY(), boxMin.getY()) : min.getY(),
+                hasZ ? Math.max(min.getZ(), boxMin.getZ()) : min.getZ());
+        max = new Vector3d(hasX ? Math.min(max.getX(), boxMax.getX()) : max.getX(), hasY ? Math.min(max.getY(), boxMax.getY()) : max.getY(),
+                hasZ ? Math.min(max.getZ(), boxMax.getZ()) : max.getZ());
+        if (!radiusMax.isPresent() && !(hasX && hasZ)) {
+            return Optional.empty();
+        }
+        return Optional.of(new AxisAlignedBB(min.getX() - 1, min.getY() - 1, min.getZ() - 1, max.getX() + 1, max.getY() + 1, max.getZ() + 1));
+    }
+
     private Set<? extends Extent> getExtentSet() {
         if (!this.alwaysUsePosition && Collections.disjoint(getArgumentTypes(this.selector.getArguments()), LOCATION_BASED_ARGUMENTS)) {
             return ImmutableSet.copyOf(SpongeImpl.getGame().getServer().getWorlds());
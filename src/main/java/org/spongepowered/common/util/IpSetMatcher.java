@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches addresses against named groups of {@link IpSet}s. The ranges are
+ * compiled into a binary prefix trie per address family, so a lookup walks
+ * the bits of the address once rather than testing every configured range.
+ *
+ * <p>Like the configured predicates, a named group only matches an address
+ * contained by every range of the group.</p>
+ */
+public final class IpSetMatcher {
+
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+    private final String[] names;
+    private final int[] rangeCounts;
+
+    public IpSetMatcher(Map<String, ? extends Collection<IpSet>> sets) {
+        checkNotNull(sets, "sets");
+        this.names = new String[sets.size()];
+        this.rangeCounts = new int[sets.size()];
+        int index = 0;
+        for (Map.Entry<String, ? extends Collection<IpSet>> entry : sets.entrySet()) {
+            this.names[index] = entry.getKey();
+            this.rangeCounts[index] = entry.getValue().size();
+            for (IpSet set : entry.getValue()) {
+                insert(set, index);
+            }
+            index++;
+        }
+    }
+
+    private void insert(IpSet set, int index) {
+        byte[] address = set.getAddressBytes();
+        Node node = address.length == 4 ? this.ipv4Root : this.ipv6Root;
+        for (int bit = 0; bit < set.getPrefixLength(); bit++) {
+            if (isSet(address, bit)) {
+                node = node.one == null ? (node.one = new Node()) : node.one;
+            } else {
+                node = node.zero == null ? (node.zero = new Node()) : node.zero;
+            }
+        }
+        node.add(index);
+    }
+
+    /**
+     * Gets the names of the groups which match the given address.
+     *
+     * @param address The address
+     * @return The names of the matching groups
+     */
+    public Set<String> getMatchingSets(InetAddress address) {
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.rangeCounts[i] == 0) {
+                builder.add(this.names[i]);
+            }
+        }
+        byte[] bytes = checkNotNull(address, "address").getAddress();
+        if (bytes.length != 4 && bytes.length != 16) {
+            return builder.build();
+        }
+        int[] hits = new int[this.names.length];
+        int length = bytes.length << 3;
+        Node node = bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+        for (int bit = 0; node != null; bit++) {
+            for (int i = 0; i < node.size; i++) {
+                int index = node.sets[i];
+                if (++hits[index] == this.rangeCounts[index]) {
+                    builder.add(this.names[index]);
+                }
+            }
+            if (bit == length) {
+                break;
+            }
+            node = isSet(bytes, bit) ? node.one : node.zero;
+        }
+        return builder.build();
+    }
+
+    private static boolean isSet(byte[] address, int bit) {
+        return ((address[bit >> 3] >> (7 - (bit & 7))) & 0x1) != 0;
+    }
+
+    private static final class Node {
+
+        Node zero;
+        Node one;
+        int[] sets = new int[0];
+        int size;
+
+        void add(int index) {
+            if (this.size == this.sets.length) {
+                this.sets = Arrays.copyOf(this.sets, Math.max(2, this.size << 1));
+            }
+            this.sets[this.size++] = index;
+        }
+    }
+}
@@ -54,6 +54,7 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.ConfigSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.SpongeConfig.DimensionConfig;
 import org.spongepowered.common.config.SpongeConfig.WorldConfig;
@@ -62,8 +63,6 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
-import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
-import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.world.CaptureType;
 
 import java.io.File;
@@ -73,9 +72,12 @@
 import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
 import javax.management.MBeanServer;
 
 public class SpongeHooks {
@@ -84,6 +86,8 @@ public class SpongeHooks {
     public static ChunkCoordIntPair tickingChunk = null;
 
     private static TObjectLongHashMap<CollisionWarning> recentWarnings = new TObjectLongHashMap<>();
+    private static final Map<Path, SpongeConfig<?>> diskConfigs = new ConcurrentHashMap<>();
+    private static volatile int diskConfigGeneration;
 
     public static void logInfo(String msg, Object... args) {
         SpongeImpl.getLogger().info(MessageFormat.format(msg, args));
@@ -105,13 +109,21 @@ public static void logStack(SpongeConfig<?> config) {
         }
     }
 
+    public static void logStack(ConfigSnapshot config) {
+        if (config.logWithStackTraces()) {
+            Throwable ex = new Throwable();
+            ex.fillInStackTrace();
+            ex.printStackTrace();
+        }
+    }
+
     public static void logEntityDeath(Entity entity) {
         if (entity == null || entity.worldObj.isRemote) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDeathLogging()) {
+        ConfigSnapshot config = getConfigSnapshot(entity.worldObj);
+        if (config.entityDeathLogging()) {
             logInfo("Dim: {0} setDead(): {1}",
                     entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
@@ -123,8 +135,8 @@ public static void logEntityDespawn(Entity entity, String reason) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDespawnLogging()) {
+        ConfigSnapshot config = getConfigSnapshot(entity.worldObj);
+        if (config.entityDespawnLogging()) {
             logInfo("Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
             logStack(config);
         }
@@ -141,8 +153,8 @@ public static void logEntitySpawn(Cause cause, Entity entity) {
         }
 
         Optional<User> user = cause.first(User.class);
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entitySpawnLogging()) {
+        ConfigSnapshot config = getConfigSnapshot(entity.worldObj);
+        if (config.entitySpawnLogging()) {
             logInfo("SPAWNED " + spawnName + " [RootCause: {0}][User: {1}][World: {2}][DimId: {3}]",
                     getFriendlyCauseName(cause),
                     user.isPresent() ? user.get().getName() : "None",
@@ -157,15 +169,15 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().blockTrackLogging() && allowed) {
+        ConfigSnapshot config = getConfigSnapshot(world);
+        if (config.blockTrackLogging() && allowed) {
             logInfo("Tracking Block " + "[RootCause: {0}][World: {1}][Block: {2}][Pos: {3}]",
                     user.getName(),
                     world.getWorldInfo().getWorldName() + "(" + world.provider.getDimensionId() + ")",
                     ((BlockType) block).getId(),
                     pos);
             logStack(config);
-        } else if (config.getConfig().getLogging().blockTrackLogging() && !allowed) {
+        } else if (config.blockTrackLogging() && !allowed) {
             logInfo("Blacklisted! Unable to track Block " + "[RootCause: {0}][World: {1}][DimId: {2}][Block: {3}][Pos: {4}]",
                     user.getName(),
                     world.getWorldInfo().getWorldName(),
@@ -176,24 +188,28 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
     }
 
     public static void logBlockAction(Cause cause, World world, CaptureType type, Transaction<BlockSnapshot> transaction) {
+        logBlockAction(cause, world, type, transaction.getOriginal().getState(), transaction.getFinal().getState());
+    }
+
+    public static void logBlockAction(Cause cause, World world, CaptureType type, BlockState originalState, BlockState finalState) {
         if (world.isRemote) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
+        ConfigSnapshot config = getConfigSnapshot(world);
         Optional<User> user = cause.first(User.class);
-        if (config.getConfig().getLogging().blockBreakLogging() && type == CaptureType.BREAK
-                || config.getConfig().getLogging().blockModifyLogging() && type == CaptureType.MODIFY
-                || config.getConfig().getLogging().blockPlaceLogging() && type == CaptureType.PLACE
-                || config.getConfig().getLogging().blockPopulateLogging() && type == CaptureType.POPULATE) {
+        if (config.blockBreakLogging() && type == CaptureType.BREAK
+                || config.blockModifyLogging() && type == CaptureType.MODIFY
+                || config.blockPlaceLogging() && type == CaptureType.PLACE
+                || config.blockPopulateLogging() && type == CaptureType.POPULATE) {
 
             logInfo("Block " + type.name() + " [RootCause: {0}][User: {1}][World: {2}][DimId: {3}][OriginalState: {4}][NewState: {5}]",
                     getFriendlyCauseName(cause),
                     user.isPresent() ? user.get().getName() : "None",
                     world.getWorldInfo().getWorldName(),
                     world.provider.getDimensionId(),
-                    transaction.getOriginal().getState(),
-                    transaction.getFinal().getState());
+                    originalState,
+                    finalState);
             logStack(config);
         }
     }
@@ -203,8 +219,8 @@ public static void logChunkLoad(World world, Vector3i chunkPos) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkLoadLogging()) {
+        ConfigSnapshot config = getConfigSnapshot(world);
+        if (config.chunkLoadLogging()) {
             logInfo("Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -216,8 +232,8 @@ public static void logChunkUnload(World world, Vector3i chunkPos) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkUnloadLogging()) {
+        ConfigSnapshot config = getConfigSnapshot(world);
+        if (config.chunkUnloadLogging()) {
             logInfo("Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -229,8 +245,8 @@ public static void logExploitSignCommandUpdates(EntityPlayer player, TileEntity
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(player.worldObj);
-        if (config.getConfig().getLogging().logExploitSignCommandUpdates) {
+        ConfigSnapshot config = getConfigSnapshot(player.worldObj);
+        if (config.logExploitSignCommandUpdates()) {
             logInfo("[EXPLOIT] Player ''{0}'' attempted to exploit sign in world ''{1}'' located at ''{2}'' with command ''{3}''",
                     player.getName(),
                     te.getWorld().getWorldInfo().getWorldName(),
@@ -245,8 +261,8 @@ public static void logExploitItemNameOverflow(EntityPlayer player, int length) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(player.worldObj);
-        if (config.getConfig().getLogging().logExploitItemStackNameOverflow) {
+        ConfigSnapshot config = getConfigSnapshot(player.worldObj);
+        if (config.logExploitItemStackNameOverflow()) {
             logInfo("[EXPLOIT] Player ''{0}'' attempted to send a creative itemstack update with a display name length of ''{1}'' (Max allowed length is 32767). This has been blocked to avoid server overflow.",
                     player.getName(),
                     length);
@@ -259,8 +275,8 @@ public static void logExploitRespawnInvisibility(EntityPlayer player) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(player.worldObj);
-        if (config.getConfig().getLogging().logExploitRespawnInvisibility) {
+        ConfigSnapshot config = getConfigSnapshot(player.worldObj);
+        if (config.logExploitRespawnInvisibility()) {
             logInfo("[EXPLOIT] Player ''{0}'' attempted to perform a respawn invisibility exploit to surrounding players.",
                     player.getName());
             logStack(config);
@@ -269,7 +285,6 @@ public static void logExploitRespawnInvisibility(EntityPlayer player) {
 
     @SuppressWarnings("unused")
     private static void logChunkLoadOverride(ChunkProviderServer provider, int x, int z) {
-        SpongeConfig<?> config = getActiveConfig(provider.worldObj);
         logInfo("Chunk Load Override: {0}, Dimension ID: {1}", provider.chunkLoadOverride,
                 provider.worldObj.provider.getDimensionId());
     }
@@ -279,12 +294,13 @@ public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
             return false;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
         if (!(entity instanceof EntityLivingBase) || entity instanceof EntityPlayer) {
             return false; // only check living entities that are not players
         }
 
-        int maxBoundingBoxSize = config.getConfig().getEntity().getMaxBoundingBoxSize();
+        ConfigSnapshot config = getConfigSnapshot(entity.worldObj);
+
+        int maxBoundingBoxSize = config.getMaxBoundingBoxSize();
         if (maxBoundingBoxSize <= 0) {
             return false;
         }
@@ -318,12 +334,12 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
             return false;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        int maxSpeed = config.getConfig().getEntity().getMaxSpeed();
+        ConfigSnapshot config = getConfigSnapshot(entity.worldObj);
+        int maxSpeed = config.getMaxSpeed();
         if (maxSpeed > 0) {
             double distance = x * x + z * z;
             if (distance > maxSpeed) {
-                if (config.getConfig().getLogging().logEntitySpeedRemoval()) {
+                if (config.logEntitySpeedRemoval()) {
                     logInfo("Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
                     if (entity instanceof EntityLivingBase) {
                         EntityLivingBase livingBase = (EntityLivingBase) entity;
@@ -333,7 +349,7 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
                                 livingBase.moveStrafing, livingBase.moveForward);
                     }
 
-                    if (config.getConfig().getLogging().logWithStackTraces()) {
+                    if (config.logWithStackTraces()) {
                         logInfo("Move offset: ({0}, {1}, {2})", x, y, z);
                         logInfo("Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
                         logInfo("Entity: {0}", entity);
@@ -364,11 +380,11 @@ public static void logEntitySize(Entity entity, List list) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (!config.getConfig().getLogging().logEntityCollisionChecks()) {
+        ConfigSnapshot config = getConfigSnapshot(entity.worldObj);
+        if (!config.logEntityCollisionChecks()) {
             return;
         }
-        int collisionWarnSize = config.getConfig().getEntity().getMaxCollisionSize();
+        int collisionWarnSize = config.getMaxCollisionSize();
 
         if (list == null) {
             return;
@@ -439,15 +455,26 @@ public static void enableThreadContentionMonitoring() {
     }
 
     public static SpongeConfig<?> getActiveConfig(World world) {
-        final SpongeConfig<WorldConfig> worldConfig = ((IMixinWorld) world).getWorldConfig();
-        final SpongeConfig<DimensionConfig> dimensionConfig = ((IMixinWorldProvider) world.provider).getDimensionConfig();
+        return getConfigSnapshot(world).getConfig();
+    }
+
+    public static ConfigSnapshot getConfigSnapshot(World world) {
+        return ((IMixinWorld) world).getConfigSnapshot();
+    }
+
+    public static ConfigSnapshot createConfigSnapshot(@Nullable SpongeConfig<WorldConfig> worldConfig,
+            @Nullable SpongeConfig<DimensionConfig> dimensionConfig) {
+        // Read the generation before the configs so an update racing with this is picked up next time
+        final int generation = SpongeConfig.getGeneration();
+        final SpongeConfig<?> config;
         if (worldConfig != null && worldConfig.getConfig().isConfigEnabled()) {
-            return worldConfig;
+            config = worldConfig;
         } else if (dimensionConfig != null && dimensionConfig.getConfig().isConfigEnabled()) {
-            return ((IMixinWorldProvider) world.provider).getDimensionConfig();
+            config = dimensionConfig;
         } else {
-            return SpongeImpl.getGlobalConfig();
+            config = SpongeImpl.getGlobalConfig();
         }
+        return new ConfigSnapshot(config, worldConfig, dimensionConfig, generation);
     }
 
     public static SpongeConfig<?> getActiveConfig(String dimensionType, String worldFolder) {
@@ -461,35 +488,7 @@ public static SpongeConfig<?> getActiveConfig(String dimensionType, String world
 
             // If this is a loaded world then we only return configs on the loaded objects. Don't go to disk.
             if (optWorld.isPresent()) {
-                final World world = (World) optWorld.get();
-                final SpongeConfig<WorldConfig> worldConfig = ((IMixinWorld) world).getWorldConfig();
-
-                if (worldConfig != null) {
-                    // Return world config if its present and enabled
-                    if (worldConfig.getConfig().isConfigEnabled()) {
-                        return worldConfig;
-                    }
-
-                    // If we've gotten here, see if this world's dimension's config is enabled.
-                    final SpongeConfig<DimensionConfig> dimensionConfig =
-                            DimensionRegistryModule.getInstance().getConfig(world.provider.getDimensionId());
-                    if (dimensionConfig != null && dimensionConfig.getConfig().isConfigEnabled()) {
-                        return dimensionConfig;
-                    }
-
-                    // Default to global
-                    return SpongeImpl.getGlobalConfig();
-                } else {
-                    // If we've gotten here, we have no world config so see if this world's dimension's config is enabled.
-                    final SpongeConfig<DimensionConfig> dimensionConfig =
-                            DimensionRegistryModule.getInstance().getConfig(world.provider.getDimensionId());
-                    if (dimensionConfig != null && dimensionConfig.getConfig().isConfigEnabled()) {
-                        return dimensionConfig;
-                    }
-
-                    // Default to global
-                    return SpongeImpl.getGlobalConfig();
-                }
+                return getActiveConfig((World) optWorld.get());
             }
         }
 
@@ -500,13 +499,13 @@ public static SpongeConfig<?> getActiveConfig(String dimensionType, String world
         if (worldFolder != null) {
             final Path worldConfPath = dimFolderPath.resolve(worldFolder).resolve("world.conf");
 
-            final SpongeConfig<WorldConfig> worldConfig = new SpongeConfig<>(SpongeConfig.Type.WORLD, worldConfPath, SpongeImpl.ECOSYSTEM_ID);
+            final SpongeConfig<?> worldConfig = getDiskConfig(SpongeConfig.Type.WORLD, worldConfPath);
             if (worldConfig.getConfig().isConfigEnabled()) {
                 return worldConfig;
             }
         }
 
-        final SpongeConfig<DimensionConfig> dimConfig = new SpongeConfig<>(SpongeConfig.Type.DIMENSION, dimConfPath, SpongeImpl.ECOSYSTEM_ID);
+        final SpongeConfig<?> dimConfig = getDiskConfig(SpongeConfig.Type.DIMENSION, dimConfPath);
         if (dimConfig.getConfig().isConfigEnabled()) {
             return dimConfig;
         }
@@ -515,6 +514,20 @@ public static SpongeConfig<?> getActiveConfig(String dimensionType, String world
         return SpongeImpl.getGlobalConfig();
     }
 
+    /**
+     * Gets the config stored at the given path for a world that is not
+     * loaded. Configs are only read once, until any config is reloaded or
+     * changed.
+     */
+    private static SpongeConfig<?> getDiskConfig(SpongeConfig.Type type, Path path) {
+        final int generation = SpongeConfig.getGeneration();
+        if (diskConfigGeneration != generation) {
+            diskConfigs.clear();
+            diskConfigGeneration = generation;
+        }
+        return diskConfigs.computeIfAbsent(path, key -> new SpongeConfig<>(type, key, SpongeImpl.ECOSYSTEM_ID));
+    }
+
     public static void setBlockState(World world, int x, int y, int z, BlockState state, boolean notifyNeighbors) {
         setBlockState(world, new BlockPos(x, y, z), state, notifyNeighbors);
     }
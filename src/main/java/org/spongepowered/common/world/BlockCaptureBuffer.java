@@ -0,0 +1,226 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * A primitive buffer of block changes captured by a world while it is
+ * processing a capture cause.
+ *
+ * <p>Positions are stored packed and states by reference, so capturing a
+ * change does not allocate. {@link SpongeBlockSnapshot}s are only created
+ * once they are requested through {@link #getSnapshot}, except for blocks
+ * with a tile entity whose data has to be copied before the tile entity is
+ * replaced.</p>
+ */
+public final class BlockCaptureBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+    private static final CaptureType[] CAPTURE_TYPES = CaptureType.values();
+
+    private long[] positions;
+    private IBlockState[] states;
+    private IBlockState[] extendedStates;
+    private IBlockState[] finalStates;
+    private int[] updateFlags;
+    private byte[] captureTypes;
+    private SpongeBlockSnapshot[] snapshots;
+    private int size;
+
+    public BlockCaptureBuffer() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        this.positions = new long[capacity];
+        this.states = new IBlockState[capacity];
+        this.extendedStates = new IBlockState[capacity];
+        this.finalStates = new IBlockState[capacity];
+        this.updateFlags = new int[capacity];
+        this.captureTypes = new byte[capacity];
+        this.snapshots = new SpongeBlockSnapshot[capacity];
+    }
+
+    private void grow() {
+        final int capacity = this.positions.length << 1;
+        this.positions = Arrays.copyOf(this.positions, capacity);
+        this.states = Arrays.copyOf(this.states, capacity);
+        this.extendedStates = Arrays.copyOf(this.extendedStates, capacity);
+        this.finalStates = Arrays.copyOf(this.finalStates, capacity);
+        this.updateFlags = Arrays.copyOf(this.updateFlags, capacity);
+        this.captureTypes = Arrays.copyOf(this.captureTypes, capacity);
+        this.snapshots = Arrays.copyOf(this.snapshots, capacity);
+    }
+
+    /**
+     * Captures the original state of a block that is about to change.
+     *
+     * @param pos The position of the block
+     * @param state The current state of the block
+     * @param extendedState The current actual state of the block
+     * @param updateFlag The update flag the block is changed with
+     * @param captureType The type of the change
+     * @param snapshot A snapshot which was already created for the block,
+     *     used for blocks whose tile entity is about to be replaced
+     * @return The index of the captured change
+     */
+    public int add(BlockPos pos, IBlockState state, IBlockState extendedState, int updateFlag, CaptureType captureType,
+            @Nullable SpongeBlockSnapshot snapshot) {
+        if (this.size == this.positions.length) {
+            grow();
+        }
+        final int index = this.size++;
+        this.positions[index] = pos.toLong();
+        this.states[index] = state;
+        this.extendedStates[index] = extendedState;
+        this.updateFlags[index] = updateFlag;
+        this.captureTypes[index] = (byte) captureType.ordinal();
+        if (snapshot != null) {
+            snapshot.captureType = captureType;
+        }
+        this.snapshots[index] = snapshot;
+        return index;
+    }
+
+    /**
+     * Removes a captured change again, if the block change it was captured
+     * for did not happen.
+     *
+     * @param index The index returned when the change was captured
+     * @param pos The position of the block
+     * @return True if the change was removed
+     */
+    public boolean remove(int index, BlockPos pos) {
+        if (index >= this.size || this.positions[index] != pos.toLong()) {
+            return false;
+        }
+        final int moved = this.size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(this.positions, index + 1, this.positions, index, moved);
+            System.arraycopy(this.states, index + 1, this.states, index, moved);
+            System.arraycopy(this.extendedStates, index + 1, this.extendedStates, index, moved);
+            System.arraycopy(this.finalStates, index + 1, this.finalStates, index, moved);
+            System.arraycopy(this.updateFlags, index + 1, this.updateFlags, index, moved);
+            System.arraycopy(this.captureTypes, index + 1, this.captureTypes, index, moved);
+            System.arraycopy(this.snapshots, index + 1, this.snapshots, index, moved);
+        }
+        this.size--;
+        this.states[this.size] = null;
+        this.extendedStates[this.size] = null;
+        this.finalStates[this.size] = null;
+        this.snapshots[this.size] = null;
+        return true;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public BlockPos getPosition(int index) {
+        return BlockPos.fromLong(this.positions[index]);
+    }
+
+    public IBlockState getState(int index) {
+        return this.states[index];
+    }
+
+    public int getUpdateFlag(int index) {
+        return this.updateFlags[index];
+    }
+
+    public CaptureType getCaptureType(int index) {
+        return CAPTURE_TYPES[this.captureTypes[index]];
+    }
+
+    /**
+     * Records the state every captured block currently has in the world,
+     * which is the state the block was changed to.
+     *
+     * @param world The world the changes were captured in
+     */
+    public void captureFinalStates(World world) {
+        for (int i = 0; i < this.size; i++) {
+            this.finalStates[i] = world.getBlockState(BlockPos.fromLong(this.positions[i]));
+        }
+    }
+
+    /**
+     * Gets the state a captured block was changed to, as recorded by
+     * {@link #captureFinalStates(World)}.
+     *
+     * @param index The index of the captured change
+     * @return The final state
+     */
+    public IBlockState getFinalState(int index) {
+        return this.finalStates[index];
+    }
+
+    /**
+     * Gets the snapshot of the original block of a captured change, creating
+     * it if it was not requested before.
+     *
+     * @param index The index of the captured change
+     * @param world The world the change was captured in
+     * @return The snapshot
+     */
+    public SpongeBlockSnapshot getSnapshot(int index, IMixinWorld world) {
+        SpongeBlockSnapshot snapshot = this.snapshots[index];
+        if (snapshot == null) {
+            snapshot = (SpongeBlockSnapshot) world.createSpongeBlockSnapshot(this.states[index], this.extendedStates[index],
+                    BlockPos.fromLong(this.positions[index]), this.updateFlags[index]);
+            snapshot.captureType = getCaptureType(index);
+            this.snapshots[index] = snapshot;
+        }
+        return snapshot;
+    }
+
+    public void clear() {
+        if (this.positions.length > MAX_RETAINED_CAPACITY) {
+            // Don't hold on to the memory of a single huge change, e.g. an explosion
+            allocate(DEFAULT_CAPACITY);
+        } else {
+            Arrays.fill(this.states, 0, this.size, null);
+            Arrays.fill(this.extendedStates, 0, this.size, null);
+            Arrays.fill(this.finalStates, 0, this.size, null);
+            Arrays.fill(this.snapshots, 0, this.size, null);
+        }
+        this.size = 0;
+    }
+
+}
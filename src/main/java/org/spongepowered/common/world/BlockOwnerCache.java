@@ -0,0 +1,150 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the tracker indices of block owners and notifiers of a world to
+ * their {@link User}s.
+ *
+ * <p>Players online in the world are returned directly. Any other user is
+ * looked up in the {@link UserStorageService} once and then cached by tracker
+ * index, including users that could not be found, as the lookup may have to
+ * read the player data from disk. Entries of a user are invalidated when the
+ * user logs in or out.</p>
+ */
+public final class BlockOwnerCache {
+
+    private final World world;
+    private final Cache<Integer, Optional<User>> users = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    public BlockOwnerCache(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets the user with the given tracker index.
+     *
+     * @param index The tracker index
+     * @return The user, if found
+     */
+    public Optional<User> get(int index) {
+        if (index == PlayerTrackerMap.NO_INDEX) {
+            return Optional.empty();
+        }
+        Optional<UUID> uuid = ((IMixinWorldInfo) this.world.getWorldInfo()).getUniqueIdForIndex(index);
+        if (!uuid.isPresent()) {
+            return Optional.empty();
+        }
+        // get player if online
+        EntityPlayer player = this.world.getPlayerEntityByUUID(uuid.get());
+        if (player != null) {
+            return Optional.of((User) player);
+        }
+        Optional<User> user = this.users.getIfPresent(index);
+        if (user == null) {
+            // player is not online, get user from storage if one exists
+            user = lookup(uuid.get());
+            this.users.put(index, user);
+        }
+        return user;
+    }
+
+    /**
+     * Gets the user with the given tracker index without blocking on a
+     * storage lookup. A lookup that is not cached yet is deferred to a task
+     * on the main thread, as the user storage is not thread safe, and the
+     * future completes there.
+     *
+     * @param index The tracker index
+     * @return The future user
+     */
+    public CompletableFuture<Optional<User>> getAsync(int index) {
+        if (index == PlayerTrackerMap.NO_INDEX) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        Optional<UUID> uuid = ((IMixinWorldInfo) this.world.getWorldInfo()).getUniqueIdForIndex(index);
+        if (!uuid.isPresent()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        EntityPlayer player = this.world.getPlayerEntityByUUID(uuid.get());
+        if (player != null) {
+            return CompletableFuture.completedFuture(Optional.of((User) player));
+        }
+        Optional<User> user = this.users.getIfPresent(index);
+        if (user != null) {
+            return CompletableFuture.completedFuture(user);
+        }
+        final CompletableFuture<Optional<User>> future = new CompletableFuture<>();
+        SpongeImpl.getGame().getScheduler().createTaskBuilder()
+                .execute(() -> {
+                    // Resolved again, the user may have logged in or been cached since
+                    try {
+                        future.complete(get(index));
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                })
+                .submit(SpongeImpl.getPlugin());
+        return future;
+    }
+
+    /**
+     * Invalidates the cached user with the given unique id.
+     *
+     * @param uuid The unique id
+     */
+    public void invalidate(UUID uuid) {
+        Optional<Integer> index = ((IMixinWorldInfo) this.world.getWorldInfo()).getExistingIndexForUniqueId(uuid);
+        if (index.isPresent()) {
+            this.users.invalidate(index.get());
+        }
+    }
+
+    public void invalidateAll() {
+        this.users.invalidateAll();
+    }
+
+    private static Optional<User> lookup(UUID uuid) {
+        return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid);
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.util.VecHelper;
+
+import javax.annotation.Nullable;
+
+/**
+ * The block being ticked by a world, used as the source of the changes the
+ * tick causes.
+ *
+ * <p>Most ticks change nothing, so only the position and state of the block
+ * are recorded. The {@link BlockSnapshot} of the block is only created once
+ * it is requested, which is when the tick captured changes to report or
+ * when it is queried through the API. The actual state is resolved before
+ * the tick only while there are listeners for the changes the tick may
+ * cause, otherwise it is resolved with the snapshot. Instances are reused
+ * by their world and must not be retained after the tick.</p>
+ */
+public final class BlockTickSource {
+
+    private final World world;
+    @Nullable private BlockPos pos;
+    @Nullable private IBlockState state;
+    @Nullable private IBlockState actualState;
+    private int updateFlag;
+    @Nullable private BlockSnapshot snapshot;
+
+    public BlockTickSource(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Sets the block being ticked.
+     *
+     * @param pos The position of the block
+     * @param state The state of the block
+     * @param updateFlag The update flag of the snapshot, if one is created
+     * @return This source, for chaining
+     */
+    public BlockTickSource set(BlockPos pos, IBlockState state, int updateFlag) {
+        this.pos = pos;
+        this.state = state;
+        // Only resolved ahead of the tick if the changes it causes are reported
+        this.actualState = SpongeImpl.hasListeners(ChangeBlockEvent.class) ? state.getBlock().getActualState(state, this.world, pos) : null;
+        this.updateFlag = updateFlag;
+        this.snapshot = null;
+        return this;
+    }
+
+    /**
+     * Sets the block being ticked from an existing snapshot.
+     *
+     * @param snapshot The snapshot of the block
+     * @return This source, for chaining
+     */
+    public BlockTickSource set(BlockSnapshot snapshot) {
+        this.pos = VecHelper.toBlockPos(snapshot.getPosition());
+        this.state = null;
+        this.actualState = null;
+        this.snapshot = snapshot;
+        return this;
+    }
+
+    /**
+     * Gets the position of the block being ticked.
+     *
+     * @return The position
+     */
+    public BlockPos getPos() {
+        checkState(this.pos != null, "No block is being ticked");
+        return this.pos;
+    }
+
+    /**
+     * Gets the snapshot of the block being ticked, creating it on first use.
+     *
+     * @return The snapshot
+     */
+    public BlockSnapshot getSnapshot() {
+        if (this.snapshot == null) {
+            checkState(this.pos != null && this.state != null, "No block is being ticked");
+            if (this.actualState == null) {
+                this.actualState = this.state.getBlock().getActualState(this.state, this.world, this.pos);
+            }
+            this.snapshot = ((IMixinWorld) this.world).createSpongeBlockSnapshot(this.state, this.actualState, this.pos, this.updateFlag);
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * Clears the block being ticked, making this source available for reuse.
+     */
+    public void clear() {
+        this.pos = null;
+        this.state = null;
+        this.actualState = null;
+        this.snapshot = null;
+    }
+
+}
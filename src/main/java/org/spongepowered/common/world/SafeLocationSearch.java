@@ -0,0 +1,228 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.api.world.Dimension;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Searches for a safe position around a block, level by level above and
+ * below it and in expanding rings around each level.
+ *
+ * <p>Every column of the search area is read once, straight from its
+ * chunk, and the safety of all levels of the column is computed from it, so
+ * the rings only index arrays. Chunks which were never generated are only
+ * generated if allowed.</p>
+ */
+final class SafeLocationSearch {
+
+    private final WorldServer world;
+    private final Vector3i origin;
+    private final int height;
+    private final int width;
+    private final boolean generateChunks;
+    private final int maxY;
+    private final int diameter;
+    private final boolean[][] columns;
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+
+    SafeLocationSearch(WorldServer world, Vector3i origin, int height, int width, boolean generateChunks) {
+        this.world = world;
+        this.origin = origin;
+        this.height = height;
+        this.width = width;
+        this.generateChunks = generateChunks;
+        this.maxY = ((Dimension) world.provider).getHeight();
+        this.diameter = width * 2 + 1;
+        this.columns = new boolean[this.diameter * this.diameter][];
+    }
+
+    /**
+     * Finds the safe position closest to the origin, preferring positions
+     * on the levels closest to it.
+     *
+     * @return The safe position, if found
+     */
+    Optional<Vector3i> find() {
+        for (int level = 0; level <= this.height; level++) {
+            Optional<Vector3i> safe = findAround(level);
+            if (!safe.isPresent() && level != 0) {
+                safe = findAround(-level);
+            }
+            if (safe.isPresent()) {
+                return safe;
+            }
+        }
+        return Optional.empty();
+    }
+
+    boolean isSafe(int dx, int level, int dz) {
+        return getColumn(dx, dz)[level + this.height];
+    }
+
+    private Optional<Vector3i> findAround(int level) {
+        for (int radius = 0; radius <= this.width; radius++) {
+            if (radius == 0) {
+                if (isSafe(0, level, 0)) {
+                    return Optional.of(this.origin.add(0, level, 0));
+                }
+                continue;
+            }
+            // Walk the ring one side at a time, each side ending at the next corner
+            for (int i = -radius + 1; i <= radius; i++) {
+                if (isSafe(radius, level, i)) {
+                    return Optional.of(this.origin.add(radius, level, i));
+                }
+            }
+            for (int i = radius - 1; i >= -radius; i--) {
+                if (isSafe(i, level, radius)) {
+                    return Optional.of(this.origin.add(i, level, radius));
+                }
+            }
+            for (int i = radius - 1; i >= -radius; i--) {
+                if (isSafe(-radius, level, i)) {
+                    return Optional.of(this.origin.add(-radius, level, i));
+                }
+            }
+            for (int i = -radius + 1; i <= radius; i++) {
+                if (isSafe(i, level, -radius)) {
+                    return Optional.of(this.origin.add(i, level, -radius));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean[] getColumn(int dx, int dz) {
+        final int index = (dx + this.width) * this.diameter + dz + this.width;
+        boolean[] column = this.columns[index];
+        if (column == null) {
+            column = readColumn(this.origin.getX() + dx, this.origin.getZ() + dz);
+            this.columns[index] = column;
+        }
+        return column;
+    }
+
+    private boolean[] readColumn(int x, int z) {
+        final boolean[] safe = new boolean[this.height * 2 + 1];
+        final Chunk chunk = getChunk(x >> 4, z >> 4);
+        if (chunk == null) {
+            return safe;
+        }
+
+        // Each level needs the two blocks of the body, the floor and up to two blocks below the floor
+        final int minY = this.origin.getY() - this.height - 3;
+        final Block[] blocks = new Block[safe.length + 4];
+        // Nothing but air is stored above the top filled section
+        final int topY = chunk.getTopFilledSegment() + 15;
+        for (int i = 0; i < blocks.length; i++) {
+            final int y = minY + i;
+            blocks[i] = y < 0 || y > topY ? Blocks.air : chunk.getBlock(x & 15, y, z & 15);
+        }
+        for (int i = 0; i < safe.length; i++) {
+            final int y = minY + 3 + i;
+            safe[i] = isBodySafe(blocks, i + 3, y) && isBodySafe(blocks, i + 4, y + 1) && isFloorSafe(blocks, i + 2, y - 1);
+        }
+        return safe;
+    }
+
+    @Nullable
+    private Chunk getChunk(int chunkX, int chunkZ) {
+        final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        if (this.chunks.containsKey(key)) {
+            return this.chunks.get(key);
+        }
+        final ChunkProviderServer provider = this.world.theChunkProviderServer;
+        Chunk chunk = null;
+        if (provider.chunkExists(chunkX, chunkZ) || this.generateChunks || isChunkSaved(provider.chunkLoader, chunkX, chunkZ)) {
+            chunk = provider.loadChunk(chunkX, chunkZ);
+        }
+        this.chunks.put(key, chunk);
+        return chunk;
+    }
+
+    private static boolean isChunkSaved(IChunkLoader chunkLoader, int chunkX, int chunkZ) {
+        return chunkLoader instanceof IMixinAnvilChunkLoader && ((IMixinAnvilChunkLoader) chunkLoader).chunkExists(chunkX, chunkZ);
+    }
+
+    private boolean isInBounds(int y) {
+        return y > 0 && y <= this.maxY;
+    }
+
+    private boolean isBodySafe(Block[] blocks, int index, int y) {
+        // The block at our torso or head has to be one we can stand in
+        return isInBounds(y) && isSafeBodyMaterial(blocks[index].getMaterial());
+    }
+
+    private boolean isFloorSafe(Block[] blocks, int index, int y) {
+        if (!isInBounds(y)) {
+            return false;
+        }
+        final Block block = blocks[index];
+        if (block != Blocks.air) {
+            // We have a non-air floor, need to ensure its safe
+            return isSafeFloorMaterial(block.getMaterial());
+        }
+
+        // Floor is air so we'll fall, need to make sure we fall safely.
+        final Block below = blocks[index - 1];
+        final Block below2 = blocks[index - 2];
+        // We'll fall too far, not safe
+        if (below == Blocks.air && below2 == Blocks.air) {
+            return false;
+        }
+        // We'll fall onto a block, need to make sure its safe
+        if (below != Blocks.air && !isSafeFloorMaterial(below.getMaterial())) {
+            return false;
+        }
+        // We'll fall through an air block to another, need to make sure its safe
+        return isSafeFloorMaterial(below2.getMaterial());
+    }
+
+    private static boolean isSafeFloorMaterial(Material material) {
+        return !(material == Material.cactus || material == Material.fire || material == Material.lava);
+    }
+
+    private static boolean isSafeBodyMaterial(Material material) {
+        return (material == Material.air || material == Material.grass || material == Material.plants
+                || material == Material.water || material == Material.redstoneLight || material == Material.circuits
+                || material == Material.snow || material == Material.portal || material == Material.web || material == Material.vine);
+    }
+}
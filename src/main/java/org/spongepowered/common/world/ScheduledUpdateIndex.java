@@ -0,0 +1,127 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.collect.ImmutableList;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.NextTickListEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An index of the pending scheduled block updates of a world by chunk and
+ * position, kept alongside the sets of the world so updates can be looked up
+ * without scanning every pending update.
+ */
+public final class ScheduledUpdateIndex {
+
+    private final TLongObjectHashMap<TIntObjectHashMap<List<NextTickListEntry>>> chunks = new TLongObjectHashMap<>();
+
+    private static int packPosition(BlockPos pos) {
+        return (pos.getX() & 15) << 12 | (pos.getZ() & 15) << 8 | (pos.getY() & 255);
+    }
+
+    public void add(NextTickListEntry entry) {
+        final long chunkKey = ChunkCoordIntPair.chunkXZ2Int(entry.position.getX() >> 4, entry.position.getZ() >> 4);
+        TIntObjectHashMap<List<NextTickListEntry>> chunk = this.chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new TIntObjectHashMap<>();
+            this.chunks.put(chunkKey, chunk);
+        }
+        final int key = packPosition(entry.position);
+        List<NextTickListEntry> entries = chunk.get(key);
+        if (entries == null) {
+            entries = new ArrayList<>(1);
+            chunk.put(key, entries);
+        }
+        entries.add(entry);
+    }
+
+    public void remove(NextTickListEntry entry) {
+        final long chunkKey = ChunkCoordIntPair.chunkXZ2Int(entry.position.getX() >> 4, entry.position.getZ() >> 4);
+        final TIntObjectHashMap<List<NextTickListEntry>> chunk = this.chunks.get(chunkKey);
+        if (chunk == null) {
+            return;
+        }
+        final int key = packPosition(entry.position);
+        final List<NextTickListEntry> entries = chunk.get(key);
+        if (entries == null || !entries.remove(entry)) {
+            return;
+        }
+        if (entries.isEmpty()) {
+            chunk.remove(key);
+            if (chunk.isEmpty()) {
+                this.chunks.remove(chunkKey);
+            }
+        }
+    }
+
+    /**
+     * Gets the pending updates at the given position, ordered as they will be
+     * processed.
+     *
+     * @param pos The position
+     * @return The pending updates
+     */
+    public List<NextTickListEntry> get(BlockPos pos) {
+        final TIntObjectHashMap<List<NextTickListEntry>> chunk = this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4));
+        if (chunk == null) {
+            return ImmutableList.of();
+        }
+        final List<NextTickListEntry> entries = chunk.get(packPosition(pos));
+        if (entries == null) {
+            return ImmutableList.of();
+        }
+        final List<NextTickListEntry> sorted = new ArrayList<>(entries);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Gets the pending updates in the given chunk, in no particular order.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The pending updates
+     */
+    public List<NextTickListEntry> getChunk(int chunkX, int chunkZ) {
+        final TIntObjectHashMap<List<NextTickListEntry>> chunk = this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        if (chunk == null) {
+            return Collections.emptyList();
+        }
+        final List<NextTickListEntry> result = new ArrayList<>();
+        chunk.forEachValue(entries -> {
+            result.addAll(entries);
+            return true;
+        });
+        return result;
+    }
+
+}
@@ -25,18 +25,42 @@
 package org.spongepowered.common.world;
 
 import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.block.Block;
-import net.minecraft.block.material.Material;
-import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.block.BlockTypes;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.TeleportHelper;
 import org.spongepowered.api.world.World;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class SpongeTeleportHelper implements TeleportHelper {
 
+    // Reads the chunks of asynchronous searches, kept apart from the common
+    // pool as the reads block on the region files
+    private final ExecutorService chunkReadExecutor = createChunkReadExecutor();
+
+    private static ExecutorService createChunkReadExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("Sponge Teleport Chunk Reader %d")
+                        .setDaemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Override
     public Optional<Location<World>> getSafeLocation(Location<World> location) {
         return getSafeLocation(location, DEFAULT_HEIGHT, DEFAULT_WIDTH);
@@ -44,166 +68,101 @@ public Optional<Location<World>> getSafeLocation(Location<World> location) {
 
     @Override
     public Optional<Location<World>> getSafeLocation(Location<World> location, final int height, final int width) {
-        // Check around the player first in a configurable radius:
-        final Optional<Location<World>> safe = checkAboveAndBelowLocation(location, height, width);
-        if (safe.isPresent()) {
-            // Add 0.5 to X and Z of block position so always in centre of block
-            return Optional.of(new Location<>(safe.get().getExtent(), safe.get().getBlockPosition().toDouble().add(0.5, 0, 0.5)));
-        }
-        return safe;
-    }
-
-    private Optional<Location<World>> checkAboveAndBelowLocation(Location<World> location, final int height, final int width) {
-        // For now this will just do a straight up block.
-        // Check the main level
-        Optional<Location<World>> safe = checkAroundLocation(location, width);
-
-        if (safe.isPresent()) {
-            return safe;
-        }
-
-        // We've already checked zero right above this.
-        for (int currentLevel = 1; currentLevel <= height; currentLevel++) {
-            // Check above
-            safe = checkAroundLocation(location.add(0, currentLevel, 0), width);
-            if (safe.isPresent()) {
-                return safe;
-            }
-
-            // Check below
-            safe = checkAroundLocation(location.add(0, -currentLevel, 0), width);
-            if (safe.isPresent()) {
-                return safe;
-            }
-        }
-
-        return Optional.empty();
+        return getSafeLocation(location, height, width, true);
     }
 
-    private Optional<Location<World>> checkAroundLocation(Location<World> location, final int radius) {
-        if (isSafeLocation(location.getExtent(), location.getBlockPosition())) {
-            return Optional.of(location);
-        }
-
-        // Now we're going to search in expanding concentric circles...
-        for (int currentRadius = 0; currentRadius <= radius; currentRadius++) {
-            Optional<Vector3i> safePosition = checkAroundSpecificDiameter(location, currentRadius);
-            if (safePosition.isPresent()) {
-                // If a safe area was found: Return the checkLoc, it is the safe
-                // location.
-                return Optional.of(new Location<>(location.getExtent(), safePosition.get()));
-            }
-        }
-
-        return Optional.empty();
+    /**
+     * Gets the next safe {@link Location} around the given location.
+     *
+     * @param location The location to search around
+     * @param height The number of levels to check above and below
+     * @param width The radius of the rings to check around each level
+     * @param generateChunks Whether chunks which were never generated may be
+     *     generated by the search
+     * @return The safe location, if found
+     */
+    public Optional<Location<World>> getSafeLocation(Location<World> location, int height, int width, boolean generateChunks) {
+        final Optional<Vector3i> safe =
+                new SafeLocationSearch((WorldServer) location.getExtent(), location.getBlockPosition(), height, width, generateChunks).find();
+        // Add 0.5 to X and Z of block position so always in centre of block
+        return safe.map(position -> new Location<>(location.getExtent(), position.toDouble().add(0.5, 0, 0.5)));
     }
 
-    private Optional<Vector3i> checkAroundSpecificDiameter(Location<World> checkLoc, final int radius) {
-        World world = checkLoc.getExtent();
-        Vector3i blockPos = checkLoc.getBlockPosition();
-        // Check out at the radius provided.
-        blockPos = blockPos.add(radius, 0, 0);
-        if (isSafeLocation(world, blockPos)) {
-            return Optional.of(blockPos);
-        }
-
-        // Move up to the first corner..
-        for (int i = 0; i < radius; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
-        }
-
-        // Move to the second corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
-        }
-
-        // Move to the third corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
-        }
-
-        // Move to the last corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
-        }
-
-        // Move back to just before the starting point.
-        for (int i = 0; i < radius - 1; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
+    /**
+     * Gets the next safe {@link Location} around the given location without
+     * blocking the caller. The saved chunks of the search area are read ahead
+     * off the main thread, and the search itself runs on the main thread,
+     * which the returned future is completed on.
+     *
+     * @param location The location to search around
+     * @param height The number of levels to check above and below
+     * @param width The radius of the rings to check around each level
+     * @param generateChunks Whether chunks which were never generated may be
+     *     generated by the search
+     * @return The future safe location
+     */
+    public CompletableFuture<Optional<Location<World>>> getSafeLocationAsync(Location<World> location, int height, int width,
+            boolean generateChunks) {
+        final CompletableFuture<Optional<Location<World>>> future = new CompletableFuture<>();
+        // The chunk provider and the pending saves of the chunk loader may only be accessed on the main thread
+        MinecraftServer.getServer().addScheduledTask(() -> {
+            final List<ChunkCoordIntPair> chunks = new ArrayList<>();
+            final List<CompletableFuture<?>> reads = new ArrayList<>();
+            final ChunkProviderServer provider = ((WorldServer) location.getExtent()).theChunkProviderServer;
+            final IChunkLoader chunkLoader = provider.chunkLoader;
+            try {
+                if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+                    readSearchAreaAhead(provider, (IMixinAnvilChunkLoader) chunkLoader, location.getBlockPosition(), width, chunks, reads);
+                }
+            } catch (Throwable t) {
+                discardChunksReadAhead(chunkLoader, chunks, reads);
+                future.completeExceptionally(t);
+                return;
             }
-        }
-        return Optional.empty();
-    }
-
-    public boolean isSafeLocation(World world, Vector3i blockPos) {
-        final Vector3i up = blockPos.add(Vector3i.UP);
-        final Vector3i down = blockPos.sub(Vector3i.UP);
-
-        return !(!isBlockSafe(world, blockPos, false) || !isBlockSafe(world, up, false) || !isBlockSafe(world, down, true));
-
+            // Search once the chunks were read, failed reads are read again when the chunk is loaded
+            CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[reads.size()])).whenComplete((result, error) ->
+                    MinecraftServer.getServer().addScheduledTask(() -> {
+                        try {
+                            future.complete(getSafeLocation(location, height, width, generateChunks));
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        } finally {
+                            // Drop the chunks the search didn't need to load, the ones read ahead by
+                            // other searches are left to them
+                            discardChunksReadAhead(chunkLoader, chunks, reads);
+                        }
+                    }));
+        });
+        return future;
     }
 
-    private boolean isBlockSafe(World world, Vector3i blockPos, boolean floorBlock) {
-        final BlockType block = world.getBlockType(blockPos);
-
-        if (blockPos.getY() <= 0) {
-            return false;
-        }
-
-        if (blockPos.getY() > world.getDimension().getHeight()) {
-            return false;
-        }
-
-        if (floorBlock) {
-            // Floor is air so we'll fall, need to make sure we fall safely.
-            if (block == BlockTypes.AIR) {
-                final BlockType typeBelowPos = world.getBlockType(blockPos.sub(0, 1, 0));
-                final BlockType typeBelowPos2 = world.getBlockType(blockPos.sub(0, 2, 0));
-
-                // We'll fall too far, not safe
-                if (typeBelowPos == BlockTypes.AIR && typeBelowPos2 == BlockTypes.AIR) {
-                    return false;
+    private void readSearchAreaAhead(ChunkProviderServer provider, IMixinAnvilChunkLoader chunkLoader, Vector3i position, int width,
+            List<ChunkCoordIntPair> chunks, List<CompletableFuture<?>> reads) {
+        final int minChunkX = (position.getX() - width) >> 4;
+        final int maxChunkX = (position.getX() + width) >> 4;
+        final int minChunkZ = (position.getZ() - width) >> 4;
+        final int maxChunkZ = (position.getZ() + width) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (!provider.chunkExists(chunkX, chunkZ) && chunkLoader.chunkExists(chunkX, chunkZ)) {
+                    final CompletableFuture<?> read = chunkLoader.readChunkAhead(chunkX, chunkZ, this.chunkReadExecutor);
+                    if (read != null) {
+                        chunks.add(new ChunkCoordIntPair(chunkX, chunkZ));
+                        reads.add(read);
+                    }
                 }
-
-                // We'll fall onto a block, need to make sure its safe
-                if (typeBelowPos != BlockTypes.AIR && !isSafeFloorMaterial(((Block) typeBelowPos).getMaterial())) {
-                    return false;
-                }
-
-                // We'll fall through an air block to another, need to make sure
-                // its safe
-                return isSafeFloorMaterial(((Block) typeBelowPos2).getMaterial());
             }
-
-            // We have a non-air floor, need to ensure its safe
-            return isSafeFloorMaterial(((Block) block).getMaterial());
         }
-
-        // We need to make sure the block at our torso or head is safe
-        return isSafeBodyMaterial(((Block) block).getMaterial());
     }
 
-    private boolean isSafeFloorMaterial(Material material) {
-        return !(material == Material.cactus || material == Material.fire || material == Material.lava);
+    private static void discardChunksReadAhead(IChunkLoader chunkLoader, List<ChunkCoordIntPair> chunks, List<CompletableFuture<?>> reads) {
+        for (int i = 0; i < chunks.size(); i++) {
+            final ChunkCoordIntPair chunk = chunks.get(i);
+            ((IMixinAnvilChunkLoader) chunkLoader).discardChunkReadAhead(chunk.chunkXPos, chunk.chunkZPos, reads.get(i));
+        }
     }
 
-    private boolean isSafeBodyMaterial(Material material) {
-        return (material == Material.air || material == Material.grass || material == Material.plants
-                || material == Material.water || material == Material.redstoneLight || material == Material.circuits
-                || material == Material.snow || material == Material.portal || material == Material.web || material == Material.vine);
+    public boolean isSafeLocation(World world, Vector3i blockPos) {
+        return new SafeLocationSearch((WorldServer) world, blockPos, 0, 0, true).isSafe(0, 0, 0);
     }
 }
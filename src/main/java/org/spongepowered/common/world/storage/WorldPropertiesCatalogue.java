@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.storage.WorldInfo;
+import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the level data read from the world directories of a save root, so
+ * the level data of a world is only parsed again once its files changed.
+ *
+ * <p>Properties are mutable, so every lookup returns a new instance built
+ * from the cached data. Changes a caller makes without saving them don't
+ * show up in later lookups or when the world is loaded.</p>
+ */
+public final class WorldPropertiesCatalogue {
+
+    private final Map<File, Entry> entries = new HashMap<>();
+
+    /**
+     * Gets the properties of the world in the given directory, reading them
+     * with the loader if the world was not read yet or its level data was
+     * modified since. Each call returns a new instance.
+     *
+     * @param worldDirectory The world directory
+     * @param loader The loader reading the properties of a world by its name
+     * @return The properties, if the directory holds a world
+     */
+    public synchronized Optional<WorldProperties> get(File worldDirectory, Function<String, WorldInfo> loader) {
+        File level = new File(worldDirectory, "level.dat");
+        File levelSponge = new File(worldDirectory, "level_sponge.dat");
+        if (!level.isFile() || !levelSponge.isFile()) {
+            this.entries.remove(worldDirectory);
+            return Optional.empty();
+        }
+        Entry entry = this.entries.get(worldDirectory);
+        if (entry == null || !entry.isCurrent(level, levelSponge)) {
+            entry = new Entry(level, levelSponge, loader.apply(worldDirectory.getName()));
+            this.entries.put(worldDirectory, entry);
+        }
+        return Optional.ofNullable(entry.createProperties());
+    }
+
+    /**
+     * Removes the cached level data of the world in the given directory,
+     * so it is read again after the world was loaded or saved.
+     *
+     * @param worldDirectory The world directory
+     */
+    public synchronized void invalidate(File worldDirectory) {
+        this.entries.remove(worldDirectory);
+    }
+
+    /**
+     * Removes the worlds which are not in the given directories.
+     *
+     * @param worldDirectories The directories to keep the worlds of
+     */
+    public synchronized void retain(Collection<File> worldDirectories) {
+        this.entries.keySet().retainAll(worldDirectories);
+    }
+
+    private static final class Entry {
+
+        private final long levelModified;
+        private final long levelLength;
+        private final long levelSpongeModified;
+        private final long levelSpongeLength;
+        @Nullable private final NBTTagCompound levelNbt;
+        @Nullable private final NBTTagCompound spongeRootLevelNbt;
+
+        Entry(File level, File levelSponge, @Nullable WorldInfo info) {
+            this.levelModified = level.lastModified();
+            this.levelLength = level.length();
+            this.levelSpongeModified = levelSponge.lastModified();
+            this.levelSpongeLength = levelSponge.length();
+            this.levelNbt = info == null ? null : info.getNBTTagCompound();
+            this.spongeRootLevelNbt = info == null ? null : (NBTTagCompound) ((IMixinWorldInfo) info).getSpongeRootLevelNbt().copy();
+        }
+
+        @Nullable
+        WorldProperties createProperties() {
+            if (this.levelNbt == null || this.spongeRootLevelNbt == null) {
+                return null;
+            }
+            // Built the same way the save handler loads the level data
+            WorldInfo info = new WorldInfo((NBTTagCompound) this.levelNbt.copy());
+            NBTTagCompound spongeRootLevelNbt = (NBTTagCompound) this.spongeRootLevelNbt.copy();
+            ((IMixinWorldInfo) info).setSpongeRootLevelNBT(spongeRootLevelNbt);
+            if (spongeRootLevelNbt.hasKey(NbtDataUtil.SPONGE_DATA)) {
+                ((IMixinWorldInfo) info).readSpongeNbt(spongeRootLevelNbt.getCompoundTag(NbtDataUtil.SPONGE_DATA));
+            }
+            return (WorldProperties) info;
+        }
+
+        boolean isCurrent(File level, File levelSponge) {
+            return this.levelModified == level.lastModified() && this.levelLength == level.length()
+                    && this.levelSpongeModified == levelSponge.lastModified() && this.levelSpongeLength == levelSponge.length();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlayerTrackerMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        assertFalse(map.containsKey(5));
+        assertEquals(PlayerTrackerMap.NO_INDEX, map.getOwner(5));
+        map.put(5, 1, 2);
+        map.setNotifier(-7, 3);
+        assertEquals(1, map.getOwner(5));
+        assertEquals(2, map.getNotifier(5));
+        assertEquals(PlayerTrackerMap.NO_INDEX, map.getOwner(-7));
+        assertEquals(3, map.getNotifier(-7));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testGrowAndRemove() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        for (int i = 0; i < 10000; i++) {
+            map.put(i * 31, i, -i);
+        }
+        assertEquals(10000, map.size());
+        for (int i = 0; i < 10000; i += 2) {
+            map.remove(i * 31);
+        }
+        assertEquals(5000, map.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i % 2 != 0, map.containsKey(i * 31));
+            if (i % 2 != 0) {
+                assertEquals(i, map.getOwner(i * 31));
+                assertEquals(-i, map.getNotifier(i * 31));
+            }
+        }
+    }
+
+    @Test
+    public void testUntrackedPositionIsRemoved() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        map.put(1, 4, PlayerTrackerMap.NO_INDEX);
+        assertTrue(map.containsKey(1));
+        map.setOwner(1, PlayerTrackerMap.NO_INDEX);
+        assertFalse(map.containsKey(1));
+        assertTrue(map.isEmpty());
+    }
+
+}
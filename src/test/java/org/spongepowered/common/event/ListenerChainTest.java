@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ListenerChainTest {
+
+    private final ListenerChainFactory chainFactory = new ListenerChainFactory("org.spongepowered.common.event.chain",
+            new DefineableClassLoader(getClass().getClassLoader()));
+    private final PluginContainer plugin = mock(PluginContainer.class);
+
+    @Test
+    public void testEmptyChain() throws Exception {
+        ListenerChain chain = this.chainFactory.create(EventFilterTest.TestEvent.class, new RegisteredListener<?>[0]);
+        chain.post(new EventFilterTest.TestEvent(Cause.of(this)));
+    }
+
+    @Test
+    public void testChainOrder() throws Exception {
+        final List<Integer> called = new ArrayList<>();
+        RegisteredListener<?>[] listeners = new RegisteredListener<?>[200];
+        for (int i = 0; i < listeners.length; i++) {
+            final int index = i;
+            listeners[i] = new RegisteredListener<>(this.plugin, EventFilterTest.TestEvent.class, Order.DEFAULT, event -> called.add(index), false);
+        }
+
+        ListenerChain chain = this.chainFactory.create(EventFilterTest.TestEvent.class, listeners);
+        chain.post(new EventFilterTest.TestEvent(Cause.of(this)));
+
+        Assert.assertEquals("Not every listener in the chain was called!", listeners.length, called.size());
+        for (int i = 0; i < listeners.length; i++) {
+            Assert.assertEquals("Listener chain was called out of order!", i, called.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testChainCancellation() throws Exception {
+        RegisteredListener<?>[] listeners = new RegisteredListener<?>[] {
+                new RegisteredListener<>(this.plugin, EventFilterTest.TestEvent.class, Order.DEFAULT, event -> event.setCancelled(true), false)
+        };
+
+        EventFilterTest.TestEvent event = new EventFilterTest.TestEvent(Cause.of(this));
+        this.chainFactory.create(EventFilterTest.TestEvent.class, listeners).post(event);
+
+        Assert.assertTrue("Listener in the chain did not cancel the event!", event.isCancelled());
+    }
+
+}
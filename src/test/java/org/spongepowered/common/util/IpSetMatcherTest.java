@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class IpSetMatcherTest {
+    private final IpSetMatcher matcher = new IpSetMatcher(ImmutableMap.of(
+            "lan", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8")),
+            "office", ImmutableList.of(IpSet.fromCidr("10.42.0.0/16"), IpSet.fromCidr("10.32.0.0/11")),
+            "host", ImmutableList.of(IpSet.fromCidr("10.42.3.4/31")),
+            "v6", ImmutableList.of(IpSet.fromCidr("[fc00::]/7")),
+            "everything", ImmutableList.<IpSet>of()));
+
+    @Test
+    public void testNestedRanges() throws UnknownHostException {
+        assertEquals(ImmutableSet.of("lan", "office", "host", "everything"), this.matcher.getMatchingSets(InetAddress.getByName("10.42.3.5")));
+        assertEquals(ImmutableSet.of("lan", "office", "everything"), this.matcher.getMatchingSets(InetAddress.getByName("10.42.3.6")));
+        assertEquals(ImmutableSet.of("lan", "everything"), this.matcher.getMatchingSets(InetAddress.getByName("10.43.3.5")));
+    }
+
+    @Test
+    public void testAddressFamilies() throws UnknownHostException {
+        assertEquals(ImmutableSet.of("v6", "everything"), this.matcher.getMatchingSets(InetAddress.getByName("fd12::1")));
+        assertEquals(ImmutableSet.of("everything"), this.matcher.getMatchingSets(InetAddress.getByName("192.168.0.1")));
+    }
+}